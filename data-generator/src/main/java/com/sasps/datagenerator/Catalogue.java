@@ -0,0 +1,166 @@
+package com.sasps.datagenerator;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates hotels and their rooms, and keeps what the booking generator needs about each room
+ * (id, nightly price, occupancy and how popular it is) in flat arrays.
+ */
+final class Catalogue {
+
+    private static final String[][] CITIES = {
+            {"Bucharest", "Romania"}, {"Cluj-Napoca", "Romania"}, {"Brasov", "Romania"},
+            {"Constanta", "Romania"}, {"Timisoara", "Romania"}, {"Iasi", "Romania"},
+            {"Sibiu", "Romania"}, {"Oradea", "Romania"}, {"Sinaia", "Romania"},
+            {"Vienna", "Austria"}, {"Budapest", "Hungary"}, {"Prague", "Czech Republic"},
+            {"Paris", "France"}, {"Rome", "Italy"}, {"Barcelona", "Spain"}, {"Berlin", "Germany"},
+            {"Athens", "Greece"}, {"Sofia", "Bulgaria"}, {"Lisbon", "Portugal"}, {"Amsterdam", "Netherlands"}};
+    private static final String[] NAME_PREFIXES = {
+            "Grand", "Central", "Park", "Royal", "Plaza", "Boutique", "Riverside", "Old Town", "Garden", "Panorama"};
+    private static final String[] NAME_SUFFIXES = {"Hotel", "Inn", "Resort", "Suites", "Residence"};
+    private static final String[] AMENITIES = {
+            "WiFi", "Parking", "Restaurant", "Bar", "Room Service", "Gym", "Pool", "SPA", "Conference Room", "Airport Shuttle"};
+    private static final int[] STAR_WEIGHTS = {3, 10, 37, 35, 15};
+    private static final double[] STAR_PRICE_FACTORS = {0.6, 0.75, 1.0, 1.35, 1.8};
+
+    private static final String[] ROOM_TYPES = {"SINGLE", "DOUBLE", "TWIN", "DELUXE", "SUITE", "PRESIDENTIAL"};
+    private static final int[] ROOM_TYPE_WEIGHTS = {20, 35, 15, 15, 10, 5};
+    private static final int[] ROOM_TYPE_PRICES = {150, 230, 220, 350, 600, 1300};
+    private static final int[] ROOM_TYPE_OCCUPANCY = {1, 2, 2, 3, 4, 6};
+    private static final String[] ROOM_TYPE_FACILITIES = {
+            "WiFi, TV, Air Conditioning",
+            "WiFi, TV, Air Conditioning, Mini Bar",
+            "WiFi, TV, Air Conditioning",
+            "WiFi, TV, Air Conditioning, Mini Bar, Coffee Machine",
+            "WiFi, TV, Air Conditioning, Mini Bar, Jacuzzi, Kitchen",
+            "WiFi, TV, Air Conditioning, Mini Bar, Jacuzzi, Kitchen, Butler Service"};
+
+    private final GeneratorOptions options;
+    private final SplittableRandom random;
+
+    private int[] hotelStars;
+    private double[] hotelPopularity;
+    private int rooms;
+    private long[] roomIds;
+    private long[] roomPriceCents;
+    private int[] roomOccupancy;
+    private double[] roomPopularity;
+
+    Catalogue(GeneratorOptions options, SplittableRandom random) {
+        this.options = options;
+        this.random = random;
+    }
+
+    void loadHotels(Connection connection, long firstHotelId) throws SQLException, IOException {
+        hotelStars = new int[options.hotels()];
+        hotelPopularity = new double[options.hotels()];
+        LocalDate today = options.today();
+
+        try (CopyWriter hotels = new CopyWriter(connection, "hotels",
+                "id, name, description, address, city, country, postal_code, phone_number, email, website, " +
+                "star_rating, amenities, image_url, active, created_at, updated_at")) {
+            for (int h = 0; h < options.hotels(); h++) {
+                long id = firstHotelId + h;
+                String[] city = CITIES[Weights.zipf(random, CITIES.length)];
+                int stars = 1 + Weights.pick(random, STAR_WEIGHTS);
+                hotelStars[h] = stars;
+                hotelPopularity[h] = Math.exp(random.nextGaussian() * 0.5);
+                String createdAt = Formats.timestamp(today.minusDays(options.historyDays() + random.nextInt(730)),
+                        random.nextInt(86_400));
+                hotels.row(id,
+                        NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " "
+                                + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)] + " " + city[0],
+                        stars + "-star hotel in " + city[0],
+                        (1 + random.nextInt(300)) + " Main Street",
+                        city[0], city[1],
+                        String.format("%06d", random.nextInt(1_000_000)),
+                        String.format("+40%09d", random.nextInt(1_000_000_000)),
+                        "reservations@hotel" + id + ".example.com",
+                        "www.hotel" + id + ".example.com",
+                        stars, amenities(stars), null,
+                        random.nextInt(100) < 97, createdAt, createdAt);
+            }
+        }
+    }
+
+    void loadRooms(Connection connection, long firstHotelId, long firstRoomId) throws SQLException, IOException {
+        LocalDate today = options.today();
+        int capacity = options.hotels() * options.roomsPerHotel() * 3 / 2 + options.hotels();
+        roomIds = new long[capacity];
+        roomPriceCents = new long[capacity];
+        roomOccupancy = new int[capacity];
+        roomPopularity = new double[capacity];
+
+        try (CopyWriter out = new CopyWriter(connection, "rooms",
+                "id, hotel_id, room_number, room_type, price_per_night, max_occupancy, description, facilities, " +
+                "floor_number, image_url, status, created_at, updated_at")) {
+            for (int h = 0; h < options.hotels(); h++) {
+                int count = Math.max(1, (int) (options.roomsPerHotel() * (0.5 + random.nextDouble())));
+                int stars = hotelStars[h];
+                String createdAt = Formats.timestamp(today.minusDays(options.historyDays()), random.nextInt(86_400));
+                for (int n = 0; n < count; n++) {
+                    int type = Weights.pick(random, ROOM_TYPE_WEIGHTS);
+                    if (type == 5 && stars < 4) {
+                        type = 1;
+                    }
+                    int floor = 1 + n / 20;
+                    long priceCents = Math.round(ROOM_TYPE_PRICES[type] * STAR_PRICE_FACTORS[stars - 1]
+                            * (0.85 + random.nextDouble() * 0.3)) * 100;
+                    int roll = random.nextInt(100);
+                    long id = firstRoomId + rooms;
+                    out.row(id, firstHotelId + h, String.valueOf(floor * 100 + n % 20 + 1), ROOM_TYPES[type],
+                            Formats.money(priceCents), ROOM_TYPE_OCCUPANCY[type],
+                            ROOM_TYPES[type].charAt(0) + ROOM_TYPES[type].substring(1).toLowerCase()
+                                    + " room on floor " + floor,
+                            ROOM_TYPE_FACILITIES[type], floor, null,
+                            roll < 94 ? "AVAILABLE" : roll < 98 ? "MAINTENANCE" : "OUT_OF_SERVICE",
+                            createdAt, createdAt);
+                    roomIds[rooms] = id;
+                    roomPriceCents[rooms] = priceCents;
+                    roomOccupancy[rooms] = ROOM_TYPE_OCCUPANCY[type];
+                    roomPopularity[rooms] = hotelPopularity[h] * (0.7 + random.nextDouble() * 0.6);
+                    rooms++;
+                }
+            }
+        }
+    }
+
+    private String amenities(int stars) {
+        StringBuilder amenities = new StringBuilder(AMENITIES[0]);
+        int count = Math.min(AMENITIES.length, 1 + stars * 2);
+        for (int i = 1; i < count; i++) {
+            if (random.nextInt(4) > 0) {
+                amenities.append(", ").append(AMENITIES[i]);
+            }
+        }
+        return amenities.toString();
+    }
+
+    int hotels() {
+        return options.hotels();
+    }
+
+    int rooms() {
+        return rooms;
+    }
+
+    long roomId(int room) {
+        return roomIds[room];
+    }
+
+    long priceCents(int room) {
+        return roomPriceCents[room];
+    }
+
+    int occupancy(int room) {
+        return roomOccupancy[room];
+    }
+
+    double popularity(int room) {
+        return roomPopularity[room];
+    }
+}
@@ -0,0 +1,71 @@
+package com.sasps.datagenerator;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Streams CSV rows into one {@code COPY ... FROM STDIN} command. {@code null} is written as an
+ * empty unquoted field (SQL NULL); text is quoted when it contains a delimiter, quote or newline.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final PGCopyOutputStream copy;
+    private final Writer out;
+    private long rows;
+
+    CopyWriter(Connection connection, String table, String columns) throws SQLException {
+        this.copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)", BUFFER_SIZE);
+        this.out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = values[i];
+            if (value != null) {
+                String text = value.toString();
+                out.write(value instanceof CharSequence ? quote(text) : text);
+            }
+        }
+        out.write('\n');
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private static String quote(String text) {
+        if (text.isEmpty()) {
+            return "\"\"";
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Flushes the remaining rows and ends the COPY; the rows become visible with the transaction.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,134 @@
+package com.sasps.datagenerator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Entry point of {@code data-generator.jar}. Loads a large, deterministic data set (hotels, rooms,
+ * users, bookings and payments) into an already migrated database through PostgreSQL {@code COPY}.
+ * The monolith and the microservices use the same table layout in {@code hotel_booking_db}, so the
+ * same run works against either; start the application once first so Flyway creates the schema.
+ * <p>
+ * Rows are appended after the existing ones with explicit ids, then the id sequences are moved past
+ * them. Everything is loaded in one transaction, so a failed run leaves the database unchanged.
+ * Where the schema has the monolith's {@code room_nights} table, it is rebuilt from the new bookings
+ * in the same transaction.
+ */
+public final class DataGenerator {
+
+    private static final List<String> TABLES = List.of("hotels", "rooms", "users", "bookings", "payments");
+
+    private DataGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(GeneratorOptions.USAGE);
+            return;
+        }
+        GeneratorOptions options;
+        try {
+            options = GeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(GeneratorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try (Connection connection = DriverManager.getConnection(
+                options.url(), options.username(), options.password())) {
+            connection.setAutoCommit(false);
+            if (options.truncate()) {
+                execute(connection, "TRUNCATE " + String.join(", ", TABLES) + " RESTART IDENTITY CASCADE");
+            }
+
+            long firstHotelId = nextId(connection, "hotels");
+            long firstRoomId = nextId(connection, "rooms");
+            long firstUserId = nextId(connection, "users");
+            long firstBookingId = nextId(connection, "bookings");
+            long firstPaymentId = nextId(connection, "payments");
+
+            SplittableRandom random = new SplittableRandom(options.seed());
+            Catalogue catalogue = new Catalogue(options, random.split());
+            Guests guests = new Guests(options, random.split());
+            Stays stays = new Stays(options, random.split(), catalogue, firstUserId);
+
+            long started = System.nanoTime();
+            catalogue.loadHotels(connection, firstHotelId);
+            report("hotels", catalogue.hotels(), started);
+
+            started = System.nanoTime();
+            catalogue.loadRooms(connection, firstHotelId, firstRoomId);
+            report("rooms", catalogue.rooms(), started);
+
+            started = System.nanoTime();
+            guests.load(connection, firstUserId);
+            report("users", options.users(), started);
+
+            started = System.nanoTime();
+            long bookings = stays.loadBookings(connection, firstBookingId);
+            report("bookings", bookings, started);
+
+            started = System.nanoTime();
+            long payments = stays.loadPayments(connection, firstBookingId, firstPaymentId);
+            report("payments", payments, started);
+
+            boolean roomNights = hasRoomNights(connection);
+            if (roomNights) {
+                started = System.nanoTime();
+                report("nights", backfillRoomNights(connection), started);
+            }
+
+            for (String table : TABLES) {
+                execute(connection, "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                        "(SELECT COALESCE(max(id), 1) FROM " + table + "))");
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            started = System.nanoTime();
+            execute(connection, "ANALYZE " + String.join(", ", TABLES) + (roomNights ? ", room_nights" : ""));
+            report("analyze", 0, started);
+        }
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(max(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static boolean hasRoomNights(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT to_regproc('backfill_room_nights') IS NOT NULL")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static long backfillRoomNights(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT added FROM backfill_room_nights()")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void report(String step, long rows, long startedNanos) {
+        System.out.printf("%-9s %,12d rows %8.1f s%n", step, rows, (System.nanoTime() - startedNanos) / 1e9);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sasps.datagenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Column values in the text form {@code COPY} expects.
+ */
+final class Formats {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private Formats() {
+    }
+
+    static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    static String timestamp(LocalDate day, int secondOfDay) {
+        return timestamp(day.atStartOfDay().plusSeconds(secondOfDay));
+    }
+
+    static String timestamp(LocalDateTime time) {
+        return TIMESTAMP.format(time);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sasps.datagenerator;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line of the generator: {@code --name=value} pairs, all optional.
+ */
+record GeneratorOptions(String url, String username, String password, long seed,
+                        int hotels, int roomsPerHotel, int users, int bookings,
+                        int historyDays, int futureDays, LocalDate today, boolean truncate) {
+
+    static final String USAGE = """
+            Usage: java -jar data-generator.jar [--name=value ...]
+              --url=jdbc:postgresql://localhost:5432/hotel_booking_db
+              --username=postgres  --password=postgres
+              --seed=42              same seed and --today give the same data set
+              --hotels=2000
+              --rooms-per-hotel=100  average, varies between hotels
+              --users=500000
+              --bookings=2000000     payments are added for every paid or refunded booking
+              --history-days=1095    bookings start this many days before --today
+              --future-days=365      and run up to this many days after it
+              --today=YYYY-MM-DD     defaults to the current date
+              --truncate=false       empty hotels, rooms, users, bookings and payments first
+            """;
+
+    private static final Set<String> NAMES = Set.of("url", "username", "password", "seed", "hotels",
+            "rooms-per-hotel", "users", "bookings", "history-days", "future-days", "today", "truncate");
+
+    static GeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (!arg.startsWith("--") || split < 0 || !NAMES.contains(arg.substring(2, split))) {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg);
+            }
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        GeneratorOptions options = new GeneratorOptions(
+                values.getOrDefault("url", "jdbc:postgresql://localhost:5432/hotel_booking_db"),
+                values.getOrDefault("username", "postgres"),
+                values.getOrDefault("password", "postgres"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("hotels", "2000")),
+                Integer.parseInt(values.getOrDefault("rooms-per-hotel", "100")),
+                Integer.parseInt(values.getOrDefault("users", "500000")),
+                Integer.parseInt(values.getOrDefault("bookings", "2000000")),
+                Integer.parseInt(values.getOrDefault("history-days", "1095")),
+                Integer.parseInt(values.getOrDefault("future-days", "365")),
+                values.containsKey("today") ? LocalDate.parse(values.get("today")) : LocalDate.now(),
+                Boolean.parseBoolean(values.getOrDefault("truncate", "false")));
+        if (options.hotels < 1 || options.roomsPerHotel < 1 || options.users < 1 || options.bookings < 0) {
+            throw new IllegalArgumentException("Volumes must be positive");
+        }
+        return options;
+    }
+}
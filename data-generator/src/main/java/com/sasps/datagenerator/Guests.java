@@ -0,0 +1,50 @@
+package com.sasps.datagenerator;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates customer accounts. Every account gets the password of the sample users, so load tests
+ * can log in as any of them.
+ */
+final class Guests {
+
+    static final String PASSWORD_HASH = "$2a$10$BI7Y4z1di7P9TBW7cFrPOOVDc9x3xAysztMflbbgqV6e7iS/GGxm.";
+
+    private static final String[] FIRST_NAMES = {
+            "Andrei", "Maria", "Alexandru", "Elena", "Mihai", "Ioana", "Stefan", "Ana", "Gabriel", "Cristina",
+            "Vlad", "Diana", "Adrian", "Raluca", "Bogdan", "Simona", "Radu", "Laura", "Paul", "Irina"};
+    private static final String[] LAST_NAMES = {
+            "Popescu", "Ionescu", "Popa", "Pop", "Constantin", "Stan", "Dumitru", "Dima", "Ciobanu", "Munteanu",
+            "Matei", "Stoica", "Marin", "Rusu", "Lazar", "Florea", "Georgescu", "Toma", "Moldovan", "Barbu"};
+
+    private final GeneratorOptions options;
+    private final SplittableRandom random;
+
+    Guests(GeneratorOptions options, SplittableRandom random) {
+        this.options = options;
+        this.random = random;
+    }
+
+    void load(Connection connection, long firstUserId) throws SQLException, IOException {
+        int spanDays = options.historyDays() + 730;
+        try (CopyWriter out = new CopyWriter(connection, "users",
+                "id, username, email, password, first_name, last_name, phone_number, role, enabled, " +
+                "email_verified, created_at, updated_at")) {
+            for (int u = 0; u < options.users(); u++) {
+                long id = firstUserId + u;
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String username = (firstName + "." + lastName).toLowerCase(Locale.ROOT) + "." + id;
+                String createdAt = Formats.timestamp(options.today().minusDays(random.nextInt(spanDays)),
+                        random.nextInt(86_400));
+                out.row(id, username, username + "@example.com", PASSWORD_HASH, firstName, lastName,
+                        String.format("+407%08d", random.nextInt(100_000_000)), "CUSTOMER",
+                        random.nextInt(1000) > 0, random.nextInt(100) < 85, createdAt, createdAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.sasps.datagenerator;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Generates bookings and their payments. Rooms get a share of the bookings proportional to their
+ * popularity and each room's stays are laid out one after another on its own timeline, so two
+ * stays of a room never overlap and the bookings exclusion constraint holds. Statuses follow the
+ * dates: past stays are mostly checked out, current ones checked in, future ones confirmed or
+ * pending, with cancellations throughout.
+ * <p>
+ * Bookings and payments are two separate {@code COPY} commands, so the stays are generated twice
+ * from the same seed rather than kept in memory.
+ */
+final class Stays {
+
+    private static final int[] NIGHTS = {1, 2, 3, 4, 5, 7, 10, 14};
+    private static final int[] NIGHT_WEIGHTS = {20, 25, 20, 10, 8, 10, 5, 2};
+    private static final double MEAN_NIGHTS = 3.5;
+    private static final String[] PAYMENT_METHODS = {"CREDIT_CARD", "DEBIT_CARD", "PAYPAL", "BANK_TRANSFER"};
+    private static final int[] PAYMENT_METHOD_WEIGHTS = {55, 20, 15, 10};
+    private static final String[] PAYMENT_GATEWAYS = {"Stripe", "Stripe", "PayPal", "Bank Transfer"};
+    private static final String[] SPECIAL_REQUESTS = {
+            "Late check-in after 10 PM", "Early check-in if possible", "Quiet room away from elevator",
+            "Extra bed for child", "High floor, non-smoking", "Business trip, need invoice for company"};
+    private static final String[] CANCELLATION_REASONS = {
+            "Change in travel plans", "Found a better offer", "Travel restrictions", "Illness", "Duplicate booking"};
+
+    private final GeneratorOptions options;
+    private final Catalogue catalogue;
+    private final long seed;
+    private final long firstUserId;
+
+    private record Stay(long id, long userId, long roomId, LocalDate checkIn, LocalDate checkOut, int guests,
+                        long totalCents, String status, String specialRequests, String paymentStatus,
+                        int paymentMethod, LocalDateTime createdAt, LocalDateTime cancelledAt, String cancellationReason) {
+
+        String confirmationNumber() {
+            return "BK-G" + id;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StayConsumer {
+        void accept(Stay stay) throws IOException;
+    }
+
+    Stays(GeneratorOptions options, SplittableRandom random, Catalogue catalogue, long firstUserId) {
+        this.options = options;
+        this.catalogue = catalogue;
+        this.seed = random.nextLong();
+        this.firstUserId = firstUserId;
+    }
+
+    long loadBookings(Connection connection, long firstBookingId) throws SQLException, IOException {
+        try (CopyWriter out = new CopyWriter(connection, "bookings",
+                "id, user_id, room_id, check_in_date, check_out_date, number_of_guests, total_price, status, " +
+                "special_requests, confirmation_number, payment_status, payment_method, paid_amount, " +
+                "cancelled_at, cancellation_reason, created_at, updated_at")) {
+            generate(firstBookingId, stay -> {
+                boolean paid = !"PENDING".equals(stay.paymentStatus());
+                out.row(stay.id(), stay.userId(), stay.roomId(), stay.checkIn(), stay.checkOut(), stay.guests(),
+                        Formats.money(stay.totalCents()), stay.status(), stay.specialRequests(),
+                        stay.confirmationNumber(), stay.paymentStatus(),
+                        paid ? PAYMENT_METHODS[stay.paymentMethod()] : null,
+                        paid ? Formats.money(stay.totalCents()) : null,
+                        stay.cancelledAt() != null ? Formats.timestamp(stay.cancelledAt()) : null,
+                        stay.cancellationReason(),
+                        Formats.timestamp(stay.createdAt()), Formats.timestamp(updatedAt(stay)));
+            });
+            return out.rows();
+        }
+    }
+
+    long loadPayments(Connection connection, long firstBookingId, long firstPaymentId)
+            throws SQLException, IOException {
+        try (CopyWriter out = new CopyWriter(connection, "payments",
+                "id, booking_id, amount, status, payment_method, transaction_id, payment_gateway, payment_date, " +
+                "description, created_at, updated_at")) {
+            generate(firstBookingId, stay -> {
+                if ("PENDING".equals(stay.paymentStatus())) {
+                    return;
+                }
+                boolean refunded = "REFUNDED".equals(stay.paymentStatus());
+                String paidAt = Formats.timestamp(stay.createdAt().plusMinutes(2));
+                out.row(firstPaymentId + out.rows(), stay.id(), Formats.money(stay.totalCents()),
+                        refunded ? "REFUNDED" : "COMPLETED", PAYMENT_METHODS[stay.paymentMethod()],
+                        "TXN-G" + stay.id(), PAYMENT_GATEWAYS[stay.paymentMethod()], paidAt,
+                        (refunded ? "Refund for cancelled booking " : "Payment for booking ")
+                                + stay.confirmationNumber(),
+                        paidAt, refunded ? Formats.timestamp(stay.cancelledAt()) : paidAt);
+            });
+            return out.rows();
+        }
+    }
+
+    private void generate(long firstBookingId, StayConsumer consumer) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = options.today();
+        LocalDate start = today.minusDays(options.historyDays());
+        int spanDays = options.historyDays() + options.futureDays();
+        LocalDateTime now = today.atStartOfDay();
+
+        double totalPopularity = 0;
+        for (int room = 0; room < catalogue.rooms(); room++) {
+            totalPopularity += catalogue.popularity(room);
+        }
+
+        long nextId = firstBookingId;
+        double cumulative = 0;
+        long assigned = 0;
+        for (int room = 0; room < catalogue.rooms(); room++) {
+            cumulative += catalogue.popularity(room);
+            long quota = Math.round(options.bookings() * cumulative / totalPopularity) - assigned;
+            assigned += quota;
+            if (quota == 0) {
+                continue;
+            }
+
+            // Gaps average a little less than the free time per stay, so the last stay rarely runs past the end
+            double slot = (double) spanDays / quota;
+            int maxGap = (int) Math.max(0, 1.8 * (slot - MEAN_NIGHTS));
+            int day = 0;
+            for (long k = 0; k < quota; k++) {
+                int nights = NIGHTS[Weights.pick(random, NIGHT_WEIGHTS)];
+                day += maxGap > 0 ? random.nextInt(maxGap + 1) : 0;
+                if (day + nights > spanDays) {
+                    break;
+                }
+                LocalDate checkIn = start.plusDays(day);
+                LocalDate checkOut = checkIn.plusDays(nights);
+                day += nights;
+                consumer.accept(stay(random, nextId++, room, checkIn, checkOut, today, now));
+            }
+        }
+    }
+
+    private Stay stay(SplittableRandom random, long id, int room, LocalDate checkIn, LocalDate checkOut,
+                      LocalDate today, LocalDateTime now) {
+        int roll = random.nextInt(100);
+        String status;
+        if (!checkOut.isAfter(today)) {
+            status = roll < 85 ? "CHECKED_OUT" : roll < 97 ? "CANCELLED" : "NO_SHOW";
+        } else if (!checkIn.isAfter(today)) {
+            status = roll < 95 ? "CHECKED_IN" : "CANCELLED";
+        } else {
+            status = roll < 75 ? "CONFIRMED" : roll < 90 ? "PENDING" : "CANCELLED";
+        }
+
+        double lead = random.nextDouble();
+        LocalDateTime createdAt = checkIn.atStartOfDay()
+                .minusDays(1 + (long) (lead * lead * 180))
+                .plusSeconds(random.nextInt(86_400));
+        if (createdAt.isAfter(now)) {
+            createdAt = now.minusMinutes(1 + random.nextInt(1440));
+        }
+
+        String paymentStatus;
+        LocalDateTime cancelledAt = null;
+        String cancellationReason = null;
+        if ("PENDING".equals(status)) {
+            paymentStatus = "PENDING";
+        } else if ("CANCELLED".equals(status)) {
+            paymentStatus = random.nextInt(4) > 0 ? "REFUNDED" : "PENDING";
+            LocalDateTime latest = checkIn.atStartOfDay().isBefore(now) ? checkIn.atStartOfDay() : now;
+            long window = Math.max(60, Duration.between(createdAt, latest).getSeconds());
+            cancelledAt = createdAt.plusSeconds(random.nextLong(window));
+            cancellationReason = CANCELLATION_REASONS[random.nextInt(CANCELLATION_REASONS.length)];
+        } else {
+            paymentStatus = "PAID";
+        }
+
+        int nights = (int) (checkOut.toEpochDay() - checkIn.toEpochDay());
+        return new Stay(id,
+                firstUserId + (long) (options.users() * Math.pow(random.nextDouble(), 1.5)),
+                catalogue.roomId(room), checkIn, checkOut,
+                1 + random.nextInt(catalogue.occupancy(room)),
+                catalogue.priceCents(room) * nights, status,
+                random.nextInt(100) < 15 ? SPECIAL_REQUESTS[random.nextInt(SPECIAL_REQUESTS.length)] : null,
+                paymentStatus, Weights.pick(random, PAYMENT_METHOD_WEIGHTS),
+                createdAt, cancelledAt, cancellationReason);
+    }
+
+    private static LocalDateTime updatedAt(Stay stay) {
+        if (stay.cancelledAt() != null) {
+            return stay.cancelledAt();
+        }
+        if ("CHECKED_OUT".equals(stay.status())) {
+            return stay.checkOut().atTime(11, 0);
+        }
+        return stay.createdAt();
+    }
+}
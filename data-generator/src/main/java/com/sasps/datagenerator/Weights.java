@@ -0,0 +1,48 @@
+package com.sasps.datagenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Skewed random choices.
+ */
+final class Weights {
+
+    private Weights() {
+    }
+
+    /**
+     * Index drawn with probability proportional to its weight.
+     */
+    static int pick(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Index in {@code [0, n)} where index {@code k} is drawn with probability proportional to {@code 1 / (k + 1)}.
+     */
+    static int zipf(SplittableRandom random, int n) {
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+        double roll = random.nextDouble() * harmonic;
+        for (int k = 1; k <= n; k++) {
+            roll -= 1.0 / k;
+            if (roll < 0) {
+                return k - 1;
+            }
+        }
+        return n - 1;
+    }
+}
@@ -5,11 +5,9 @@ import com.sasps.authservice.entity.User;
 import com.sasps.authservice.repository.UserRepository;
 import com.sasps.authservice.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,9 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
     private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userDetailsService;
 
     @Transactional
@@ -39,7 +37,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(signupRequest.getUsername());
         user.setEmail(signupRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(signupRequest.getPassword()));
+        user.setPassword(passwordHasher.encode(signupRequest.getPassword()));
         user.setFirstName(signupRequest.getFirstName());
         user.setLastName(signupRequest.getLastName());
         user.setRole(signupRequest.getRole() != null ? signupRequest.getRole() : "USER");
@@ -63,17 +61,37 @@ public class AuthService {
     }
 
     public AuthResponse login(LoginRequest loginRequest) {
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+        String identifier = loginRequest.getUsername();
+
+        // Authenticate user (by username or email); the password check runs on the hashing pool
+        User user = userRepository.findByUsername(identifier)
+                .or(() -> userRepository.findByEmail(identifier))
+                .orElse(null);
+
+        // Failures of a known account count once whichever identifier was typed
+        String account = user != null ? "user:" + user.getId() : identifier;
+        loginThrottle.checkAllowed(account);
+
+        boolean authenticated = user != null
+                ? passwordHasher.matches(loginRequest.getPassword(), user.getPassword())
+                : passwordHasher.matchesNone(loginRequest.getPassword());
+        if (!authenticated) {
+            loginThrottle.recordFailure(account);
+            throw new BadCredentialsException("Bad credentials");
+        }
+        loginThrottle.recordSuccess(account);
+
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new DisabledException("User is disabled");
+        }
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Re-hash with the current bcrypt strength while the plain password is at hand
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(loginRequest.getPassword()));
+            userRepository.save(user);
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
 
         // Generate tokens
         String token = jwtUtil.generateToken(userDetails);
@@ -91,12 +109,9 @@ public class AuthService {
 
     public ValidateTokenResponse validateToken(String token) {
         try {
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                return new ValidateTokenResponse(true, username, "Token is valid");
-            } else {
-                return new ValidateTokenResponse(false, "Token is invalid or expired");
-            }
+            return jwtUtil.validateAndExtractUsername(token)
+                    .map(username -> new ValidateTokenResponse(true, username, "Token is valid"))
+                    .orElseGet(() -> new ValidateTokenResponse(false, "Token is invalid or expired"));
         } catch (Exception e) {
             return new ValidateTokenResponse(false, "Token validation failed: " + e.getMessage());
         }
@@ -104,8 +119,8 @@ public class AuthService {
 
     public AuthResponse refreshToken(String refreshToken) {
         try {
-            if (jwtUtil.validateToken(refreshToken)) {
-                String username = jwtUtil.extractUsername(refreshToken);
+            String username = jwtUtil.validateAndExtractUsername(refreshToken).orElse(null);
+            if (username != null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 User user = userRepository.findByUsername(username)
                         .orElseThrow(() -> new RuntimeException("User not found"));
@@ -1,34 +1,101 @@
 package com.sasps.authservice.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final Long expiration;
+    private final Long refreshExpiration;
+
+    /**
+     * Tokens that already passed signature and expiry checks, keyed by a SHA-256 digest of the
+     * token and evicted when the token itself expires.
+     */
+    private final Cache<String, ValidatedToken> validatedTokens;
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.refresh-expiration}") Long refreshExpiration,
+                   @Value("${jwt.validation-cache.max-size:10000}") long validationCacheMaxSize,
+                   MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+
+        this.validatedTokens = Caffeine.newBuilder()
+                .maximumSize(validationCacheMaxSize)
+                .expireAfter(new Expiry<String, ValidatedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, ValidatedToken token, long currentTime) {
+                        long remainingMillis = token.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, ValidatedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(digest, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, ValidatedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.cacheHitCounter = Counter.builder("jwt.validation.cache")
+                .description("Token validations served from the validated-token cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+
+        this.cacheMissCounter = Counter.builder("jwt.validation.cache")
+                .description("Token validations served from the validated-token cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("jwt.validation.cache.size", validatedTokens, Cache::estimatedSize)
+                .description("Number of validated tokens currently cached")
+                .register(meterRegistry);
+    }
 
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String extractUsername(String token) {
@@ -45,9 +112,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -82,14 +147,49 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
+        return validateAndExtractUsername(token).isPresent();
+    }
+
+    /**
+     * Verifies the token and returns its subject, parsing it at most once per distinct token
+     * for as long as it stays valid.
+     */
+    public Optional<String> validateAndExtractUsername(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        ValidatedToken cached = validatedTokens.getIfPresent(digest);
+        if (cached != null) {
+            cacheHitCounter.increment();
+            return Optional.ofNullable(cached.username());
+        }
+        cacheMissCounter.increment();
+
+        Claims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
+        Date expiresAt = claims.getExpiration();
+        if (expiresAt == null || expiresAt.before(new Date())) {
+            return Optional.empty();
+        }
+        validatedTokens.put(digest, new ValidatedToken(claims.getSubject(), expiresAt.getTime()));
+        return Optional.ofNullable(claims.getSubject());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record ValidatedToken(String username, long expiresAtMillis) {
     }
 }
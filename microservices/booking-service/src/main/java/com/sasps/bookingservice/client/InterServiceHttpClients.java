@@ -0,0 +1,158 @@
+package com.sasps.bookingservice.client;
+
+import feign.Client;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the OkHttp client behind each Feign client, with a connection pool, keep-alive and
+ * concurrency limit of its own per target service. Settings are read from
+ * {@code <target>.http.*}, e.g. {@code room-service.http.max-idle-connections}.
+ */
+@Component
+public class InterServiceHttpClients {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public InterServiceHttpClients(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Client forTarget(String target) {
+        int maxIdleConnections = setting(target, "max-idle-connections", 20);
+        long keepAliveSeconds = setting(target, "keep-alive-seconds", 60L);
+        int maxRequestsPerHost = setting(target, "max-requests-per-host", 64);
+        long queueTimeoutMs = setting(target, "queue-timeout-ms", 1000L);
+        boolean http2Cleartext = setting(target, "http2-cleartext", false);
+
+        ConnectionPool connectionPool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+        Dispatcher dispatcher = new Dispatcher();
+        Semaphore hostPermits = new Semaphore(maxRequestsPerHost, true);
+
+        Timer newConnectionTimer = acquireTimer(target, "new");
+        Timer reusedConnectionTimer = acquireTimer(target, "reused");
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(concurrencyLimit(target, hostPermits, queueTimeoutMs))
+                .eventListenerFactory(call -> new AcquireTimingListener(newConnectionTimer, reusedConnectionTimer));
+        if (http2Cleartext) {
+            // h2c with prior knowledge: one multiplexed connection instead of one connection per request
+            builder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        }
+
+        Gauge.builder("http.client.pool.connections", connectionPool,
+                        pool -> pool.connectionCount() - pool.idleConnectionCount())
+                .description("Pooled connections to the target service")
+                .tag("target", target)
+                .tag("state", "active")
+                .register(meterRegistry);
+
+        Gauge.builder("http.client.pool.connections", connectionPool, ConnectionPool::idleConnectionCount)
+                .description("Pooled connections to the target service")
+                .tag("target", target)
+                .tag("state", "idle")
+                .register(meterRegistry);
+
+        Gauge.builder("http.client.requests.queued", hostPermits, Semaphore::getQueueLength)
+                .description("Requests waiting for a free slot under the per-host concurrency limit")
+                .tag("target", target)
+                .register(meterRegistry);
+
+        Gauge.builder("http.client.requests.active", dispatcher, Dispatcher::runningCallsCount)
+                .description("Requests in flight to the target service")
+                .tag("target", target)
+                .register(meterRegistry);
+
+        return new feign.okhttp.OkHttpClient(builder.build());
+    }
+
+    private <T> T setting(String target, String name, T defaultValue) {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        return environment.getProperty(target + ".http." + name, type, defaultValue);
+    }
+
+    private Timer acquireTimer(String target, String connection) {
+        return Timer.builder("http.client.pool.acquire")
+                .description("Time from the start of a call until it holds a connection")
+                .tag("target", target)
+                .tag("connection", connection)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Feign calls are synchronous, which OkHttp's dispatcher does not limit, so the per-host limit
+     * is enforced here; callers wait at most {@code queueTimeoutMs} for a slot.
+     */
+    private static Interceptor concurrencyLimit(String target, Semaphore permits, long queueTimeoutMs) {
+        return chain -> {
+            try {
+                if (!permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Too many concurrent requests to " + target);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection to " + target);
+            }
+            try {
+                return chain.proceed(chain.request());
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private static final class AcquireTimingListener extends EventListener {
+
+        private final Timer newConnectionTimer;
+        private final Timer reusedConnectionTimer;
+        private long callStartNanos;
+        private boolean connected;
+
+        private AcquireTimingListener(Timer newConnectionTimer, Timer reusedConnectionTimer) {
+            this.newConnectionTimer = newConnectionTimer;
+            this.reusedConnectionTimer = reusedConnectionTimer;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connected = true;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            Timer timer = connected ? newConnectionTimer : reusedConnectionTimer;
+            timer.record(Duration.ofNanos(System.nanoTime() - callStartNanos));
+        }
+    }
+}
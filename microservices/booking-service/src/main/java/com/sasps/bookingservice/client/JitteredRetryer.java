@@ -0,0 +1,45 @@
+package com.sasps.bookingservice.client;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries idempotent GETs with exponential backoff and full jitter, so clients retrying after the
+ * same failure spread out instead of hitting the recovering service together. Other methods are
+ * never retried.
+ */
+public class JitteredRetryer implements Retryer {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private int attempt = 1;
+
+    public JitteredRetryer(int maxAttempts, long backoffMs, long maxBackoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (e.method() != Request.HttpMethod.GET || attempt++ >= maxAttempts) {
+            throw e;
+        }
+        long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 2, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    @Override
+    public Retryer clone() {
+        return new JitteredRetryer(maxAttempts, backoffMs, maxBackoffMs);
+    }
+}
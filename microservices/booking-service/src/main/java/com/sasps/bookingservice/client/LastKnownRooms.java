@@ -0,0 +1,44 @@
+package com.sasps.bookingservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sasps.bookingservice.dto.RoomDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Room details most recently returned by room-service. Entries expire after
+ * {@code room-service.fallback.max-age-seconds}, which bounds how stale a fallback answer can be.
+ */
+@Component
+public class LastKnownRooms {
+
+    private final Cache<Long, RoomDto> rooms;
+
+    public LastKnownRooms(@Value("${room-service.fallback.max-size:10000}") long maxSize,
+                          @Value("${room-service.fallback.max-age-seconds:300}") long maxAgeSeconds) {
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+                .build();
+    }
+
+    public void remember(RoomDto room) {
+        if (room != null && room.getId() != null) {
+            rooms.put(room.getId(), room);
+        }
+    }
+
+    public Optional<RoomDto> get(Long roomId) {
+        return Optional.ofNullable(rooms.getIfPresent(roomId));
+    }
+
+    public Map<Long, RoomDto> getAll(Collection<Long> roomIds) {
+        return rooms.getAllPresent(roomIds);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sasps.bookingservice.client;
+
+import com.sasps.bookingservice.dto.RoomDto;
+import feign.Capability;
+import feign.codec.Decoder;
+
+import java.util.Collection;
+
+/**
+ * Records every room decoded from a room-service response in {@link LastKnownRooms}.
+ */
+public class LastKnownRoomsCapability implements Capability {
+
+    private final LastKnownRooms lastKnownRooms;
+
+    public LastKnownRoomsCapability(LastKnownRooms lastKnownRooms) {
+        this.lastKnownRooms = lastKnownRooms;
+    }
+
+    @Override
+    public Decoder enrich(Decoder decoder) {
+        return (response, type) -> {
+            Object body = decoder.decode(response, type);
+            if (body instanceof RoomDto room) {
+                lastKnownRooms.remember(room);
+            } else if (body instanceof Collection<?> items) {
+                for (Object item : items) {
+                    if (item instanceof RoomDto room) {
+                        lastKnownRooms.remember(room);
+                    }
+                }
+            }
+            return body;
+        };
+    }
+}
@@ -5,7 +5,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "payment-service", url = "${payment-service.url:http://payment-service:8084}")
+@FeignClient(name = "payment-service", url = "${payment-service.url:http://payment-service:8084}",
+        configuration = PaymentServiceClientConfig.class)
 public interface PaymentServiceClient {
     
     @PostMapping("/api/payments")
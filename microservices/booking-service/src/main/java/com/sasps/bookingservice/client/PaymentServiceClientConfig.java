@@ -0,0 +1,16 @@
+package com.sasps.bookingservice.client;
+
+import feign.Client;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Client-specific Feign configuration for {@link PaymentServiceClient}; deliberately not a
+ * {@code @Configuration} so it does not apply to the other Feign clients.
+ */
+public class PaymentServiceClientConfig {
+
+    @Bean
+    public Client paymentServiceHttpClient(InterServiceHttpClients httpClients) {
+        return httpClients.forTarget("payment-service");
+    }
+}
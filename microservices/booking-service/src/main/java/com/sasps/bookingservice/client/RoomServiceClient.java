@@ -1,15 +1,33 @@
 package com.sasps.bookingservice.client;
 
 import com.sasps.bookingservice.dto.RoomDto;
+import com.sasps.bookingservice.dto.RoomStatusEventDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
-@FeignClient(name = "room-service", url = "${room-service.url:http://room-service:8082}")
+import java.util.Collection;
+import java.util.List;
+
+@FeignClient(name = "room-service", url = "${room-service.url:http://room-service:8082}",
+        configuration = RoomServiceClientConfig.class, fallbackFactory = RoomServiceClientFallbackFactory.class)
 public interface RoomServiceClient {
     
     @GetMapping("/api/rooms/{id}")
     RoomDto getRoomById(@PathVariable("id") Long id);
+
+    /**
+     * Same request as {@link #getRoomById}, but never answered from {@link LastKnownRooms}: for callers whose
+     * decision depends on the room's current status or price.
+     */
+    @GetMapping("/api/rooms/{id}")
+    RoomDto getCurrentRoom(@PathVariable("id") Long id);
+
+    @GetMapping("/api/rooms/batch")
+    List<RoomDto> getRoomsByIds(@RequestParam("ids") Collection<Long> ids);
     
     @PutMapping("/api/rooms/{id}/status")
     RoomDto updateRoomStatus(@PathVariable("id") Long id, @RequestParam("status") String status);
+
+    @PostMapping("/api/rooms/status-events")
+    List<RoomStatusEventDto.Result> applyStatusEvents(@RequestBody List<RoomStatusEventDto.Request> events);
 }
@@ -0,0 +1,22 @@
+package com.sasps.bookingservice.client;
+
+import feign.Capability;
+import feign.Client;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Client-specific Feign configuration for {@link RoomServiceClient}; deliberately not a
+ * {@code @Configuration} so it does not apply to the other Feign clients.
+ */
+public class RoomServiceClientConfig {
+
+    @Bean
+    public Client roomServiceHttpClient(InterServiceHttpClients httpClients) {
+        return httpClients.forTarget("room-service");
+    }
+
+    @Bean
+    public Capability lastKnownRoomsCapability(LastKnownRooms lastKnownRooms) {
+        return new LastKnownRoomsCapability(lastKnownRooms);
+    }
+}
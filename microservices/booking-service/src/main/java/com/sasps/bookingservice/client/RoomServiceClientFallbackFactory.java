@@ -0,0 +1,103 @@
+package com.sasps.bookingservice.client;
+
+import com.sasps.bookingservice.dto.RoomDto;
+import com.sasps.bookingservice.dto.RoomStatusEventDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers room reads from {@link LastKnownRooms} when room-service fails, times out or is shed by its
+ * circuit breaker or bulkhead. Client errors (4xx), {@code getCurrentRoom} and writes are never masked:
+ * bookings are accepted and priced from the live room only, and room status writes are retried by the
+ * outbox relay.
+ */
+@Component
+@Slf4j
+public class RoomServiceClientFallbackFactory implements FallbackFactory<RoomServiceClient> {
+
+    private final LastKnownRooms lastKnownRooms;
+    private final Counter servedCounter;
+    private final Counter missedCounter;
+
+    public RoomServiceClientFallbackFactory(LastKnownRooms lastKnownRooms, MeterRegistry meterRegistry) {
+        this.lastKnownRooms = lastKnownRooms;
+
+        this.servedCounter = Counter.builder("booking.room.fallback")
+                .description("Room reads answered from the last known room details after room-service failed")
+                .tag("result", "served")
+                .register(meterRegistry);
+
+        this.missedCounter = Counter.builder("booking.room.fallback")
+                .description("Room reads answered from the last known room details after room-service failed")
+                .tag("result", "missed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RoomServiceClient create(Throwable cause) {
+        return new RoomServiceClient() {
+            @Override
+            public RoomDto getRoomById(Long id) {
+                rethrowClientError(cause);
+                RoomDto room = lastKnownRooms.get(id).orElse(null);
+                if (room == null) {
+                    missedCounter.increment();
+                    throw propagate(cause);
+                }
+                servedCounter.increment();
+                log.warn("room-service unavailable ({}), serving last known details of room {}", cause.toString(), id);
+                return room;
+            }
+
+            @Override
+            public RoomDto getCurrentRoom(Long id) {
+                throw propagate(cause);
+            }
+
+            @Override
+            public List<RoomDto> getRoomsByIds(Collection<Long> ids) {
+                rethrowClientError(cause);
+                Map<Long, RoomDto> known = lastKnownRooms.getAll(ids);
+                if (known.isEmpty()) {
+                    missedCounter.increment();
+                    throw propagate(cause);
+                }
+                servedCounter.increment();
+                log.warn("room-service unavailable ({}), serving last known details of {}/{} rooms",
+                        cause.toString(), known.size(), ids.size());
+                return new ArrayList<>(known.values());
+            }
+
+            @Override
+            public RoomDto updateRoomStatus(Long id, String status) {
+                throw propagate(cause);
+            }
+
+            @Override
+            public List<RoomStatusEventDto.Result> applyStatusEvents(List<RoomStatusEventDto.Request> events) {
+                throw propagate(cause);
+            }
+        };
+    }
+
+    private static void rethrowClientError(Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            throw clientError;
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        return cause instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("room-service call failed", cause);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sasps.bookingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BookingOrchestrationConfig {
+
+    /**
+     * Runs remote room-service and payment-service calls that overlap with, or follow, the booking
+     * transaction. When saturated, work falls back to the submitting thread instead of being dropped.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bookingOrchestrationExecutor(
+            @Value("${booking.orchestration.pool-size:32}") int poolSize,
+            @Value("${booking.orchestration.queue-capacity:500}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("booking-orchestration-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-orchestration-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.sasps.bookingservice.config;
+
+import com.sasps.bookingservice.client.JitteredRetryer;
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Resilience policies shared by the Feign clients. Circuit breakers, semaphore bulkheads and time
+ * limiters are created per client method by Spring Cloud CircuitBreaker and configured under
+ * {@code resilience4j.*}; this adds jittered retries for GETs and counts every breaker state change.
+ */
+@Configuration
+@Slf4j
+public class FeignResilienceConfig {
+
+    @Bean
+    public Retryer feignRetryer(@Value("${feign.retry.max-attempts:3}") int maxAttempts,
+                                @Value("${feign.retry.backoff-ms:50}") long backoffMs,
+                                @Value("${feign.retry.max-backoff-ms:400}") long maxBackoffMs) {
+        return new JitteredRetryer(maxAttempts, backoffMs, maxBackoffMs);
+    }
+
+    /**
+     * Makes gateway errors retryable; {@link JitteredRetryer} still only retries them for GETs.
+     */
+    @Bean
+    public ErrorDecoder feignErrorDecoder() {
+        ErrorDecoder delegate = new ErrorDecoder.Default();
+        return (methodKey, response) -> {
+            Exception exception = delegate.decode(methodKey, response);
+            int status = response.status();
+            if (!(exception instanceof RetryableException) && (status == 502 || status == 503 || status == 504)) {
+                Request request = response.request();
+                return new RetryableException(status, exception.getMessage(), request.httpMethod(),
+                        exception, (Long) null, request);
+            }
+            return exception;
+        };
+    }
+
+    @Bean
+    public MeterBinder circuitBreakerTransitions(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return registry -> {
+            circuitBreakerRegistry.getAllCircuitBreakers()
+                    .forEach(circuitBreaker -> countTransitions(registry, circuitBreaker));
+            circuitBreakerRegistry.getEventPublisher()
+                    .onEntryAdded(event -> countTransitions(registry, event.getAddedEntry()));
+        };
+    }
+
+    private static void countTransitions(MeterRegistry registry, CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.warn("Circuit breaker {} changed from {} to {}",
+                    circuitBreaker.getName(), transition.getFromState(), transition.getToState());
+            Counter.builder("resilience4j.circuitbreaker.transitions")
+                    .description("Circuit breaker state transitions")
+                    .tag("name", circuitBreaker.getName())
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .register(registry)
+                    .increment();
+        });
+    }
+}
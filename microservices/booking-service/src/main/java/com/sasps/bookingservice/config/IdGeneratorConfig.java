@@ -0,0 +1,49 @@
+package com.sasps.bookingservice.config;
+
+import com.sasps.bookingservice.service.IdGenerator;
+import com.sasps.bookingservice.service.RandomUuidIdGenerator;
+import com.sasps.bookingservice.service.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "ids.generator", havingValue = "snowflake", matchIfMissing = true)
+    public IdGenerator snowflakeIdGenerator(@Value("${ids.node-id:}") String nodeId) {
+        return new SnowflakeIdGenerator(resolveNodeId(nodeId));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ids.generator", havingValue = "uuid")
+    public IdGenerator randomUuidIdGenerator() {
+        return new RandomUuidIdGenerator();
+    }
+
+    private static int resolveNodeId(String configured) {
+        if (StringUtils.hasText(configured)) {
+            return Integer.parseInt(configured.trim());
+        }
+        int derived = Math.floorMod(hostName().hashCode(), SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        log.warn("ids.node-id is not set, using node id {} derived from the host name; "
+                + "give every instance its own ids.node-id to guarantee unique IDs", derived);
+        return derived;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
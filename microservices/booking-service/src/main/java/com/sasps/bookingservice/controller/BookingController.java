@@ -87,6 +87,15 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @PostMapping("/booked-rooms")
+    @Operation(summary = "Get booked room IDs", description = "Return which of the given rooms have an active booking overlapping the given stay")
+    public ResponseEntity<List<Long>> getBookedRoomIds(@Valid @RequestBody BookingDto.BookedRoomsRequest request) {
+        log.info("POST /api/bookings/booked-rooms - Check {} rooms between {} and {}",
+                request.getRoomIds().size(), request.getCheckInDate(), request.getCheckOutDate());
+        List<Long> roomIds = bookingService.getBookedRoomIds(request);
+        return ResponseEntity.ok(roomIds);
+    }
+
     @PostMapping
     @Operation(summary = "Create booking", description = "Create a new booking")
     public ResponseEntity<BookingDto> createBooking(@Valid @RequestBody BookingDto.CreateRequest request) {
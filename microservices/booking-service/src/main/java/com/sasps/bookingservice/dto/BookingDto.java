@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -118,5 +119,20 @@ public class BookingDto {
         @NotBlank(message = "Payment method is required")
         private String paymentMethod;
     }
-}
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BookedRoomsRequest {
+        @NotEmpty(message = "Room IDs are required")
+        @Size(max = 500, message = "At most 500 room IDs can be checked at once")
+        private List<@NotNull Long> roomIds;
+
+        @NotNull(message = "Check-in date is required")
+        private LocalDate checkInDate;
+
+        @NotNull(message = "Check-out date is required")
+        private LocalDate checkOutDate;
+    }
+}
@@ -0,0 +1,35 @@
+package com.sasps.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class RoomStatusEventDto {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Request {
+        private String idempotencyKey;
+        private Long roomId;
+        private String status;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private String idempotencyKey;
+        private Outcome outcome;
+        private String message;
+    }
+
+    public enum Outcome {
+        APPLIED,
+        DUPLICATE,
+        REJECTED
+    }
+}
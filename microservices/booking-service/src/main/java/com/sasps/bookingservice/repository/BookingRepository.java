@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,16 +26,32 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN false ELSE true END FROM Booking b " +
            "WHERE b.roomId = :roomId " +
            "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT', 'NO_SHOW') " +
-           "AND ((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate))")
+           "AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
     boolean isRoomAvailable(@Param("roomId") Long roomId, 
                            @Param("checkInDate") LocalDate checkInDate,
                            @Param("checkOutDate") LocalDate checkOutDate);
     
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+           "WHERE b.roomId = :roomId AND b.id <> :excludedBookingId " +
+           "AND b.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN') " +
+           "AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
+    boolean existsOverlappingBooking(@Param("roomId") Long roomId,
+                                     @Param("checkInDate") LocalDate checkInDate,
+                                     @Param("checkOutDate") LocalDate checkOutDate,
+                                     @Param("excludedBookingId") Long excludedBookingId);
+
     @Query("SELECT b FROM Booking b WHERE b.roomId = :roomId " +
            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW') " +
-           "AND ((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate))")
+           "AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
     List<Booking> findOverlappingBookings(@Param("roomId") Long roomId,
                                           @Param("checkInDate") LocalDate checkInDate,
                                           @Param("checkOutDate") LocalDate checkOutDate);
+
+    @Query("SELECT DISTINCT b.roomId FROM Booking b " +
+           "WHERE b.roomId IN :roomIds AND b.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN') " +
+           "AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
+    List<Long> findBookedRoomIds(@Param("roomIds") Collection<Long> roomIds,
+                                 @Param("checkInDate") LocalDate checkInDate,
+                                 @Param("checkOutDate") LocalDate checkOutDate);
 }
 
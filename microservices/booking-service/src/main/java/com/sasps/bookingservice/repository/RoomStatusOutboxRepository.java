@@ -0,0 +1,40 @@
+package com.sasps.bookingservice.repository;
+
+import com.sasps.bookingservice.model.RoomStatusOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RoomStatusOutboxRepository extends JpaRepository<RoomStatusOutboxEvent, Long> {
+
+    /**
+     * Locks the next due events, skipping rows another relay instance already holds. An event is only
+     * picked once every pending event with a lower id for the same room has been delivered, so status
+     * changes reach room-service in id (insert) order per room. Ids come from the sequence when the row is
+     * inserted, not when its transaction commits, so two bookings of one room racing to commit may still
+     * be delivered opposite to their commit order.
+     */
+    @Query(value = "SELECT * FROM room_status_outbox o " +
+           "WHERE o.state = 'PENDING' AND o.next_attempt_at <= :now " +
+           "AND NOT EXISTS (SELECT 1 FROM room_status_outbox e " +
+           "WHERE e.state = 'PENDING' AND e.room_id = o.room_id AND e.id < o.id) " +
+           "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RoomStatusOutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM room_status_outbox WHERE id IN (SELECT id FROM room_status_outbox " +
+           "WHERE state IN ('DELIVERED', 'DEAD') AND created_at < :cutoff ORDER BY id LIMIT :limit)",
+           nativeQuery = true)
+    int deleteSettledBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    long countByState(RoomStatusOutboxEvent.State state);
+
+    @Query("SELECT MIN(o.createdAt) FROM RoomStatusOutboxEvent o WHERE o.state = 'PENDING'")
+    LocalDateTime findOldestPendingCreatedAt();
+}
@@ -7,23 +7,36 @@ import com.sasps.bookingservice.dto.PaymentDto;
 import com.sasps.bookingservice.dto.RoomDto;
 import com.sasps.bookingservice.exception.BusinessException;
 import com.sasps.bookingservice.exception.ResourceNotFoundException;
+import com.sasps.bookingservice.exception.ServiceUnavailableException;
 import com.sasps.bookingservice.model.Booking;
 import com.sasps.bookingservice.repository.BookingRepository;
 
+import feign.FeignException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,28 +45,52 @@ import java.util.stream.Collectors;
 public class BookingService {
 
     private static final String AVAILABLE = "AVAILABLE";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String UNKNOWN_ROOM = "Unknown";
+    private static final int ROOM_LOOKUP_BATCH_SIZE = 500;
+    private static final String CONFIRMATION_NUMBER_PREFIX = "BK-";
+
+    private static final String CREATE = "create";
+    private static final String UPDATE = "update";
+    private static final String CONFIRM = "confirm";
+    private static final String CANCEL = "cancel";
+    private static final String CHECK_IN = "check_in";
+    private static final String CHECK_OUT = "check_out";
     
     private final BookingRepository bookingRepository;
     private final RoomServiceClient roomServiceClient;
     private final PaymentServiceClient paymentServiceClient;
+    private final RoomStatusOutbox roomStatusOutbox;
+    private final Executor bookingOrchestrationExecutor;
+    private final IdGenerator idGenerator;
     private final MeterRegistry meterRegistry;
+    private final long roomServiceRetryAfterSeconds;
 
     private final Counter bookingsCreatedCounter;
     private final Counter bookingsConfirmedCounter;
     private final Counter bookingsCancelledCounter;
     private final Counter bookingsCheckedInCounter;
     private final Counter bookingsCheckedOutCounter;
+    private final Counter bookingConflictsCounter;
     private final Timer bookingCreationTimer;
     private final Counter totalRevenueCounter;
 
     public BookingService(BookingRepository bookingRepository,
                           RoomServiceClient roomServiceClient,
                           PaymentServiceClient paymentServiceClient,
-                          MeterRegistry meterRegistry) {
+                          RoomStatusOutbox roomStatusOutbox,
+                          @Qualifier("bookingOrchestrationExecutor") Executor bookingOrchestrationExecutor,
+                          IdGenerator idGenerator,
+                          MeterRegistry meterRegistry,
+                          @Value("${room-service.retry-after-seconds:10}") long roomServiceRetryAfterSeconds) {
         this.bookingRepository = bookingRepository;
         this.roomServiceClient = roomServiceClient;
         this.paymentServiceClient = paymentServiceClient;
+        this.roomStatusOutbox = roomStatusOutbox;
+        this.bookingOrchestrationExecutor = bookingOrchestrationExecutor;
+        this.idGenerator = idGenerator;
         this.meterRegistry = meterRegistry;
+        this.roomServiceRetryAfterSeconds = roomServiceRetryAfterSeconds;
 
         this.bookingsCreatedCounter = Counter.builder("bookings.created")
                 .description("Total number of bookings created")
@@ -75,6 +112,10 @@ public class BookingService {
                 .description("Total number of check-outs")
                 .register(meterRegistry);
 
+        this.bookingConflictsCounter = Counter.builder("bookings.conflicts")
+                .description("Total number of bookings rejected by the room/date overlap constraint")
+                .register(meterRegistry);
+
         this.bookingCreationTimer = Timer.builder("booking.creation.time")
                 .description("Time taken to create a booking")
                 .register(meterRegistry);
@@ -87,9 +128,7 @@ public class BookingService {
 
     public List<BookingDto> getAllBookings() {
         log.debug("Fetching all bookings");
-        return bookingRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(bookingRepository.findAll());
     }
 
     public BookingDto getBookingById(Long id) {
@@ -108,23 +147,27 @@ public class BookingService {
 
     public List<BookingDto> getUserBookings(Long userId) {
         log.debug("Fetching bookings for user id: {}", userId);
-        return bookingRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(bookingRepository.findByUserIdOrderByCreatedAtDesc(userId));
     }
 
     public List<BookingDto> getUserActiveBookings(Long userId) {
         log.debug("Fetching active bookings for user id: {}", userId);
-        return bookingRepository.findActiveBookingsByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(bookingRepository.findActiveBookingsByUserId(userId));
     }
 
     public List<BookingDto> getRoomBookings(Long roomId) {
         log.debug("Fetching bookings for room id: {}", roomId);
-        return bookingRepository.findByRoomIdOrderByCheckInDateAsc(roomId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(bookingRepository.findByRoomIdOrderByCheckInDateAsc(roomId));
+    }
+
+    public List<Long> getBookedRoomIds(BookingDto.BookedRoomsRequest request) {
+        log.debug("Checking {} rooms booked between {} and {}",
+                request.getRoomIds().size(), request.getCheckInDate(), request.getCheckOutDate());
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new BusinessException("Check-out date must be after check-in date");
+        }
+        return bookingRepository.findBookedRoomIds(
+                request.getRoomIds(), request.getCheckInDate(), request.getCheckOutDate());
     }
 
     @Transactional
@@ -136,24 +179,20 @@ public class BookingService {
 
         validateBookingDates(request.getCheckInDate(), request.getCheckOutDate());
 
-        RoomDto room;
-        try {
-            room = roomServiceClient.getRoomById(request.getRoomId());
-        } catch (Exception e) {
-            throw new ResourceNotFoundException("Room", "id", request.getRoomId());
+        // The remote room fetch and the local conflict query are independent, so overlap them
+        CompletableFuture<RoomDto> roomFuture = fetchCurrentRoomAsync(CREATE, request.getRoomId());
+        boolean roomFree = timeStage(CREATE, "conflict_check", () -> bookingRepository.isRoomAvailable(
+                request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate()));
+        if (!roomFree) {
+            bookingConflictsCounter.increment();
+            throw new BusinessException("Room is already booked for the selected dates");
         }
+        RoomDto room = awaitRoom(roomFuture, request.getRoomId());
 
         if (!AVAILABLE.equals(room.getStatus())) {
             throw new BusinessException("Room is not available for booking");
         }
 
-        if (!bookingRepository.isRoomAvailable(
-                request.getRoomId(),
-                request.getCheckInDate(),
-                request.getCheckOutDate())) {
-            throw new BusinessException("Room is already booked for the selected dates");
-        }
-
         if (request.getNumberOfGuests() > room.getMaxOccupancy()) {
             throw new BusinessException(String.format(
                     "Number of guests (%d) exceeds room's maximum occupancy (%d)",
@@ -182,13 +221,10 @@ public class BookingService {
                 .paymentMethod(request.getPaymentMethod())
                 .build();
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = timeStage(CREATE, "persist",
+                () -> saveAndCheckOverlap(booking, "Room is already booked for the selected dates"));
 
-        try {
-            roomServiceClient.updateRoomStatus(room.getId(), "RESERVED");
-        } catch (Exception e) {
-            log.error("Failed to update room status", e);
-        }
+        roomStatusOutbox.enqueue(savedBooking.getId(), CREATE, room.getId(), "RESERVED");
 
         bookingsCreatedCounter.increment();
         sample.stop(bookingCreationTimer);
@@ -196,7 +232,7 @@ public class BookingService {
         log.info("Booking created successfully with id: {} and confirmation number: {}",
                 savedBooking.getId(), confirmationNumber);
 
-        return convertToDto(savedBooking);
+        return convertToDto(savedBooking, room.getRoomNumber());
     }
 
     @Transactional
@@ -210,6 +246,9 @@ public class BookingService {
             throw new BusinessException("Cannot update a cancelled or checked-out booking");
         }
 
+        // Needed for the new price and for the response; fetched while the local work runs
+        CompletableFuture<RoomDto> roomFuture = fetchCurrentRoomAsync(UPDATE, booking.getRoomId());
+
         if (request.getCheckInDate() != null || request.getCheckOutDate() != null) {
             LocalDate newCheckIn = request.getCheckInDate() != null ? request.getCheckInDate()
                     : booking.getCheckInDate();
@@ -218,19 +257,17 @@ public class BookingService {
 
             validateBookingDates(newCheckIn, newCheckOut);
 
-            List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                    booking.getRoomId(), newCheckIn, newCheckOut);
-            boolean hasConflict = overlappingBookings.stream()
-                    .anyMatch(b -> !b.getId().equals(booking.getId()));
-
-            if (hasConflict) {
+            boolean conflicting = timeStage(UPDATE, "conflict_check", () -> bookingRepository.existsOverlappingBooking(
+                    booking.getRoomId(), newCheckIn, newCheckOut, booking.getId()));
+            if (conflicting) {
+                bookingConflictsCounter.increment();
                 throw new BusinessException("Room is not available for the new dates");
             }
 
             booking.setCheckInDate(newCheckIn);
             booking.setCheckOutDate(newCheckOut);
 
-            RoomDto room = roomServiceClient.getRoomById(booking.getRoomId());
+            RoomDto room = awaitRoom(roomFuture, booking.getRoomId());
             long numberOfNights = ChronoUnit.DAYS.between(newCheckIn, newCheckOut);
             BigDecimal totalPrice = room.getPricePerNight()
                     .multiply(BigDecimal.valueOf(numberOfNights));
@@ -256,9 +293,10 @@ public class BookingService {
             booking.setPaidAmount(request.getPaidAmount());
         }
 
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = timeStage(UPDATE, "persist",
+                () -> saveAndCheckOverlap(booking, "Room is not available for the new dates"));
         log.info("Booking updated successfully with id: {}", updatedBooking.getId());
-        return convertToDto(updatedBooking);
+        return convertToDto(updatedBooking, roomNumberOf(roomFuture, updatedBooking));
     }
 
     @Transactional
@@ -277,11 +315,7 @@ public class BookingService {
 
         Booking cancelledBooking = bookingRepository.save(booking);
 
-        try {
-            roomServiceClient.updateRoomStatus(booking.getRoomId(), AVAILABLE);
-        } catch (Exception e) {
-            log.error("Failed to update room status", e);
-        }
+        roomStatusOutbox.enqueue(id, CANCEL, booking.getRoomId(), AVAILABLE);
 
         bookingsCancelledCounter.increment();
         log.info("Booking cancelled successfully with id: {}", id);
@@ -298,30 +332,30 @@ public class BookingService {
             throw new BusinessException("Only pending bookings can be confirmed");
         }
 
+        // Only needed for the response; fetched while the booking is persisted
+        CompletableFuture<RoomDto> roomFuture = fetchRoomAsync(CONFIRM, booking.getRoomId());
+
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         booking.setPaymentStatus(Booking.PaymentStatus.PAID);
         booking.setPaymentMethod(request.getPaymentMethod());
         booking.setPaidAmount(request.getPaymentAmount());
 
-        Booking confirmedBooking = bookingRepository.save(booking);
+        Booking confirmedBooking = timeStage(CONFIRM, "persist", () -> bookingRepository.saveAndFlush(booking));
 
-        try {
-            PaymentDto paymentDto = PaymentDto.builder()
-                    .bookingId(confirmedBooking.getId())
-                    .amount(request.getPaymentAmount())
-                    .status("COMPLETED")
-                    .paymentMethod(request.getPaymentMethod())
-                    .paymentGateway("STRIPE")
-                    .description("Payment for booking " + confirmedBooking.getConfirmationNumber())
-                    .paymentDate(LocalDateTime.now())
-                    .build();
-            
+        PaymentDto paymentDto = PaymentDto.builder()
+                .bookingId(confirmedBooking.getId())
+                .amount(request.getPaymentAmount())
+                .status("COMPLETED")
+                .paymentMethod(request.getPaymentMethod())
+                .paymentGateway("STRIPE")
+                .description("Payment for booking " + confirmedBooking.getConfirmationNumber())
+                .paymentDate(LocalDateTime.now())
+                .build();
+        runAfterCommit(CONFIRM, "payment_create", () -> {
             PaymentDto createdPayment = paymentServiceClient.createPayment(paymentDto);
-            log.info("Payment created successfully with id: {} for booking: {}", 
-                    createdPayment.getId(), confirmedBooking.getId());
-        } catch (Exception e) {
-            log.error("Failed to create payment record for booking: {}", confirmedBooking.getId(), e);
-        }
+            log.info("Payment created successfully with id: {} for booking: {}",
+                    createdPayment.getId(), paymentDto.getBookingId());
+        });
 
         bookingsConfirmedCounter.increment();
         if (request.getPaymentAmount() != null) {
@@ -329,7 +363,7 @@ public class BookingService {
         }
 
         log.info("Booking confirmed successfully with id: {}", id);
-        return convertToDto(confirmedBooking);
+        return convertToDto(confirmedBooking, roomNumberOf(roomFuture, confirmedBooking));
     }
 
     @Transactional
@@ -347,12 +381,8 @@ public class BookingService {
         }
 
         booking.setStatus(Booking.BookingStatus.CHECKED_IN);
-        
-        try {
-            roomServiceClient.updateRoomStatus(booking.getRoomId(), "OCCUPIED");
-        } catch (Exception e) {
-            log.error("Failed to update room status", e);
-        }
+
+        roomStatusOutbox.enqueue(id, CHECK_IN, booking.getRoomId(), "OCCUPIED");
 
         bookingsCheckedInCounter.increment();
         Booking checkedInBooking = bookingRepository.save(booking);
@@ -372,11 +402,7 @@ public class BookingService {
 
         booking.setStatus(Booking.BookingStatus.CHECKED_OUT);
 
-        try {
-            roomServiceClient.updateRoomStatus(booking.getRoomId(), AVAILABLE);
-        } catch (Exception e) {
-            log.error("Failed to update room status", e);
-        }
+        roomStatusOutbox.enqueue(id, CHECK_OUT, booking.getRoomId(), AVAILABLE);
 
         bookingsCheckedOutCounter.increment();
         Booking checkedOutBooking = bookingRepository.save(booking);
@@ -411,13 +437,138 @@ public class BookingService {
         }
     }
 
+    private Booking saveAndCheckOverlap(Booking booking, String conflictMessage) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                bookingConflictsCounter.increment();
+                throw new BusinessException(conflictMessage);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CompletableFuture<RoomDto> fetchRoomAsync(String operation, Long roomId) {
+        return CompletableFuture.supplyAsync(
+                () -> timeStage(operation, "room_fetch", () -> roomServiceClient.getRoomById(roomId)),
+                bookingOrchestrationExecutor);
+    }
+
+    /**
+     * Fetches the live room, failing rather than falling back to last known details, for steps that
+     * accept or price a booking.
+     */
+    private CompletableFuture<RoomDto> fetchCurrentRoomAsync(String operation, Long roomId) {
+        return CompletableFuture.supplyAsync(
+                () -> timeStage(operation, "room_fetch", () -> roomServiceClient.getCurrentRoom(roomId)),
+                bookingOrchestrationExecutor);
+    }
+
+    /**
+     * Only a 404 from room-service means the room does not exist; an open circuit, a full bulkhead, a
+     * timeout or a 5xx is an outage the client can retry, answered with 503.
+     */
+    private RoomDto awaitRoom(CompletableFuture<RoomDto> roomFuture, Long roomId) {
+        try {
+            return roomFuture.join();
+        } catch (CompletionException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof FeignException.NotFound) {
+                    throw new ResourceNotFoundException("Room", "id", roomId);
+                }
+            }
+            log.warn("Failed to fetch room: {}", roomId, e.getCause());
+            throw new ServiceUnavailableException("Room service is temporarily unavailable",
+                    roomServiceRetryAfterSeconds, e.getCause());
+        }
+    }
+
+    private String roomNumberOf(CompletableFuture<RoomDto> roomFuture, Booking booking) {
+        try {
+            return roomFuture.join().getRoomNumber();
+        } catch (CompletionException e) {
+            log.warn("Failed to fetch room details for booking: {}", booking.getId());
+            return UNKNOWN_ROOM;
+        }
+    }
+
+    /**
+     * Runs a remote side effect on the orchestration pool once the booking transaction has committed,
+     * so it neither delays the response nor fires for a rolled-back booking.
+     */
+    private void runAfterCommit(String operation, String stage, Runnable sideEffect) {
+        Runnable timedSideEffect = () -> {
+            try {
+                stageTimer(operation, stage).record(sideEffect);
+            } catch (Exception e) {
+                log.error("Post-commit step {} of booking {} failed", stage, operation, e);
+            }
+        };
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bookingOrchestrationExecutor.execute(timedSideEffect);
+            }
+        });
+    }
+
+    private <T> T timeStage(String operation, String stage, Supplier<T> step) {
+        return stageTimer(operation, stage).record(step);
+    }
+
+    private Timer stageTimer(String operation, String stage) {
+        return Timer.builder("booking.stage.time")
+                .description("Time spent in each stage of a booking operation")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
     private String generateConfirmationNumber() {
-        return "BK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return CONFIRMATION_NUMBER_PREFIX + idGenerator.nextId();
+    }
+
+    private List<BookingDto> convertToDtos(List<Booking> bookings) {
+        Map<Long, String> roomNumbers = fetchRoomNumbers(bookings);
+        return bookings.stream()
+                .map(booking -> convertToDto(booking,
+                        roomNumbers.getOrDefault(booking.getRoomId(), UNKNOWN_ROOM)))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, String> fetchRoomNumbers(List<Booking> bookings) {
+        List<Long> roomIds = bookings.stream()
+                .map(Booking::getRoomId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, String> roomNumbers = new HashMap<>();
+        for (int from = 0; from < roomIds.size(); from += ROOM_LOOKUP_BATCH_SIZE) {
+            List<Long> chunk = roomIds.subList(from, Math.min(from + ROOM_LOOKUP_BATCH_SIZE, roomIds.size()));
+            try {
+                roomServiceClient.getRoomsByIds(chunk)
+                        .forEach(room -> roomNumbers.put(room.getId(), room.getRoomNumber()));
+            } catch (Exception e) {
+                log.warn("Failed to fetch room details for {} rooms", chunk.size(), e);
+            }
+        }
+        return roomNumbers;
     }
 
     private BookingDto convertToDto(Booking booking) {
         // Fetch room details for enrichment
-        String roomNumber = "Unknown";
+        String roomNumber = UNKNOWN_ROOM;
 
         try {
             RoomDto room = roomServiceClient.getRoomById(booking.getRoomId());
@@ -426,6 +577,10 @@ public class BookingService {
             log.warn("Failed to fetch room details for booking: {}", booking.getId());
         }
 
+        return convertToDto(booking, roomNumber);
+    }
+
+    private BookingDto convertToDto(Booking booking, String roomNumber) {
         return BookingDto.builder()
                 .id(booking.getId())
                 .userId(booking.getUserId())
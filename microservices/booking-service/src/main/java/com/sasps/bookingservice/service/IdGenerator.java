@@ -0,0 +1,10 @@
+package com.sasps.bookingservice.service;
+
+/**
+ * Source of the public identifiers handed out to clients (booking confirmation numbers).
+ * Implementations must be thread-safe and must not repeat a value.
+ */
+public interface IdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,39 @@
+package com.sasps.bookingservice.service;
+
+import com.sasps.bookingservice.model.RoomStatusOutboxEvent;
+import com.sasps.bookingservice.repository.RoomStatusOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records room status changes in the booking transaction; {@link RoomStatusOutboxRelay} delivers them
+ * to room-service after commit. The idempotency key identifies the booking operation, so a redelivered
+ * event is recognised by room-service and applied only once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomStatusOutbox {
+
+    private final RoomStatusOutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long bookingId, String operation, Long roomId, String status) {
+        LocalDateTime now = LocalDateTime.now();
+        RoomStatusOutboxEvent event = RoomStatusOutboxEvent.builder()
+                .idempotencyKey(bookingId + ":" + operation)
+                .bookingId(bookingId)
+                .roomId(roomId)
+                .status(status)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        outboxRepository.save(event);
+        log.debug("Queued room {} status {} for booking {} ({})", roomId, status, bookingId, operation);
+    }
+}
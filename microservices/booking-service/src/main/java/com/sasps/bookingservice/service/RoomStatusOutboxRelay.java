@@ -0,0 +1,235 @@
+package com.sasps.bookingservice.service;
+
+import com.sasps.bookingservice.client.RoomServiceClient;
+import com.sasps.bookingservice.dto.RoomStatusEventDto;
+import com.sasps.bookingservice.model.RoomStatusOutboxEvent;
+import com.sasps.bookingservice.repository.RoomStatusOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued room status changes to room-service in batches. A batch is claimed in a short
+ * transaction ({@code FOR UPDATE SKIP LOCKED}, then {@code next_attempt_at} pushed out by
+ * {@code booking.outbox.claim-timeout-ms}), delivered with no transaction or row lock held, and the
+ * outcomes are recorded in a second transaction; several booking-service instances can relay
+ * concurrently, and a batch claimed by an instance that died is picked up again once its claim expires.
+ * Failed deliveries are retried with exponential backoff until {@code booking.outbox.max-attempts},
+ * after which the event is parked as DEAD. Settled events are purged after
+ * {@code booking.outbox.retention-days}.
+ */
+@Component
+@Slf4j
+public class RoomStatusOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final RoomStatusOutboxRepository outboxRepository;
+    private final RoomServiceClient roomServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final long claimTimeoutMs;
+    private final int retentionDays;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Timer deliveryLagTimer;
+
+    public RoomStatusOutboxRelay(RoomStatusOutboxRepository outboxRepository,
+                                 RoomServiceClient roomServiceClient,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${booking.outbox.batch-size:100}") int batchSize,
+                                 @Value("${booking.outbox.max-attempts:10}") int maxAttempts,
+                                 @Value("${booking.outbox.backoff-ms:1000}") long backoffMs,
+                                 @Value("${booking.outbox.max-backoff-ms:60000}") long maxBackoffMs,
+                                 @Value("${booking.outbox.claim-timeout-ms:30000}") long claimTimeoutMs,
+                                 @Value("${booking.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.roomServiceClient = roomServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.retentionDays = retentionDays;
+
+        Gauge.builder("booking.outbox.depth", depth, AtomicLong::get)
+                .description("Room status events waiting to be delivered to room-service")
+                .register(meterRegistry);
+
+        Gauge.builder("booking.outbox.lag", oldestPending, RoomStatusOutboxRelay::secondsSince)
+                .description("Age of the oldest undelivered room status event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.deliveredCounter = outcomeCounter(meterRegistry, "delivered");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.deadCounter = outcomeCounter(meterRegistry, "dead");
+
+        this.deliveryLagTimer = Timer.builder("booking.outbox.delivery.time")
+                .description("Time from a booking change committing to room-service applying its status")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int claimed;
+        do {
+            List<RoomStatusOutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+            claimed = events.size();
+            if (claimed > 0) {
+                deliverBatch(events);
+            }
+        } while (claimed == batchSize);
+        refreshBacklog();
+    }
+
+    /**
+     * Deletes delivered and dead events older than the retention period, a batch per transaction.
+     */
+    @Scheduled(cron = "${booking.outbox.purge-cron:0 45 3 * * *}")
+    public void purgeSettledEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxRepository.deleteSettledBefore(cutoff, batchSize));
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            log.info("Purged {} room status outbox events settled before {}", purged, cutoff);
+        }
+    }
+
+    private List<RoomStatusOutboxEvent> claimBatch() {
+        List<RoomStatusOutboxEvent> events = outboxRepository.lockDueEvents(LocalDateTime.now(), batchSize);
+        LocalDateTime claimedUntil = LocalDateTime.now().plus(Duration.ofMillis(claimTimeoutMs));
+        events.forEach(event -> event.setNextAttemptAt(claimedUntil));
+        return events;
+    }
+
+    private void deliverBatch(List<RoomStatusOutboxEvent> claimed) {
+        List<RoomStatusEventDto.Request> requests = claimed.stream()
+                .map(event -> RoomStatusEventDto.Request.builder()
+                        .idempotencyKey(event.getIdempotencyKey())
+                        .roomId(event.getRoomId())
+                        .status(event.getStatus())
+                        .build())
+                .collect(Collectors.toList());
+
+        Map<String, RoomStatusEventDto.Result> results;
+        try {
+            results = roomServiceClient.applyStatusEvents(requests).stream()
+                    .collect(Collectors.toMap(RoomStatusEventDto.Result::getIdempotencyKey,
+                            Function.identity(), (first, second) -> first));
+        } catch (Exception e) {
+            log.warn("Failed to deliver {} room status events", claimed.size(), e);
+            transactionTemplate.executeWithoutResult(status -> recordOutcomes(claimed, Map.of(), e.getMessage()));
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(claimed, results, null));
+    }
+
+    private void recordOutcomes(List<RoomStatusOutboxEvent> claimed, Map<String, RoomStatusEventDto.Result> results,
+                                String failure) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RoomStatusOutboxEvent> events = outboxRepository.findAllById(claimed.stream()
+                .map(RoomStatusOutboxEvent::getId)
+                .collect(Collectors.toList()));
+        for (RoomStatusOutboxEvent event : events) {
+            if (event.getState() != RoomStatusOutboxEvent.State.PENDING) {
+                // The claim expired and another relay already settled the event
+                continue;
+            }
+            RoomStatusEventDto.Result result = results.get(event.getIdempotencyKey());
+            if (failure != null) {
+                retry(event, now, failure);
+            } else if (result == null) {
+                retry(event, now, "No result returned by room-service");
+            } else if (result.getOutcome() == RoomStatusEventDto.Outcome.REJECTED) {
+                markDead(event, result.getMessage());
+            } else {
+                markDelivered(event, now);
+            }
+        }
+    }
+
+    private void markDelivered(RoomStatusOutboxEvent event, LocalDateTime now) {
+        event.setState(RoomStatusOutboxEvent.State.DELIVERED);
+        event.setAttempts(event.getAttempts() + 1);
+        event.setDeliveredAt(now);
+        event.setLastError(null);
+        deliveredCounter.increment();
+        deliveryLagTimer.record(Duration.between(event.getCreatedAt(), now));
+    }
+
+    private void retry(RoomStatusOutboxEvent event, LocalDateTime now, String error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            markDead(event, error);
+            return;
+        }
+        long delay = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 20));
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(delay)));
+        event.setLastError(truncate(error));
+        retriedCounter.increment();
+    }
+
+    private void markDead(RoomStatusOutboxEvent event, String error) {
+        event.setState(RoomStatusOutboxEvent.State.DEAD);
+        event.setLastError(truncate(error));
+        deadCounter.increment();
+        log.error("Giving up on room {} status {} for booking {} after {} attempts: {}",
+                event.getRoomId(), event.getStatus(), event.getBookingId(), event.getAttempts(), error);
+    }
+
+    private void refreshBacklog() {
+        depth.set(outboxRepository.countByState(RoomStatusOutboxEvent.State.PENDING));
+        oldestPending.set(outboxRepository.findOldestPendingCreatedAt());
+    }
+
+    private static double secondsSince(AtomicReference<LocalDateTime> oldest) {
+        LocalDateTime createdAt = oldest.get();
+        return createdAt == null ? 0 : Duration.between(createdAt, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("booking.outbox.events")
+                .description("Room status events handled by the outbox relay")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+-- Reject overlapping active bookings for the same room at the database level
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT excl_bookings_room_dates
+    EXCLUDE USING gist (
+        room_id WITH =,
+        daterange(check_in_date, check_out_date, '[)') WITH &&
+    )
+    WHERE (status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN'));
@@ -0,0 +1,4 @@
+-- Serve date-range availability lookups (rooms booked during a stay) from the index alone
+CREATE INDEX idx_bookings_active_dates
+    ON bookings (check_in_date, check_out_date, room_id)
+    WHERE status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN');
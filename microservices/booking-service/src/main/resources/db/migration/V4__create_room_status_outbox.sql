@@ -0,0 +1,19 @@
+-- Room status changes written in the same transaction as the booking change and relayed to room-service
+CREATE TABLE room_status_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    idempotency_key VARCHAR(64) NOT NULL UNIQUE,
+    booking_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP
+);
+
+-- The relay only ever scans undelivered events
+CREATE INDEX idx_room_status_outbox_pending
+    ON room_status_outbox (room_id, id)
+    WHERE state = 'PENDING';
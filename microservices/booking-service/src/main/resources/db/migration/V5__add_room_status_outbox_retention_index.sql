@@ -0,0 +1,4 @@
+-- The retention job deletes settled events oldest first
+CREATE INDEX idx_room_status_outbox_settled
+    ON room_status_outbox (created_at)
+    WHERE state IN ('DELIVERED', 'DEAD');
@@ -0,0 +1,34 @@
+package com.sasps.paymentservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PaymentProcessingConfig {
+
+    /**
+     * Worker pool that talks to the payment gateway, sized independently of Tomcat and Hikari.
+     * Submissions beyond the queue capacity are rejected rather than run on the caller's thread.
+     * In virtual-thread mode the workers are virtual threads; the pool size still bounds concurrency.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor paymentProcessingExecutor(
+            @Value("${payment.processing.pool-size:16}") int poolSize,
+            @Value("${payment.processing.queue-capacity:1000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("payment-worker-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sasps.paymentservice.controller;
 
 import com.sasps.paymentservice.service.PaymentService;
+import com.sasps.paymentservice.dto.CursorPage;
 import com.sasps.paymentservice.dto.PaymentDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,8 +13,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/payments")
@@ -25,11 +28,16 @@ public class PaymentController {
     private final PaymentService paymentService;
 
     @GetMapping
-    @Operation(summary = "Get all payments", description = "Retrieve all payments")
-    public ResponseEntity<List<PaymentDto>> getAllPayments() {
-        log.info("GET /api/payments - Get all payments");
-        List<PaymentDto> payments = paymentService.getAllPayments();
-        return ResponseEntity.ok(payments);
+    @Operation(summary = "Get all payments",
+               description = "Retrieve a page of payments ordered by ID; the next page cursor is returned in the X-Next-Cursor header")
+    public ResponseEntity<List<PaymentDto>> getAllPayments(
+            @Parameter(description = "Return payments with an ID greater than this cursor")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of payments to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") Integer limit) {
+        log.info("GET /api/payments - Get all payments (after: {}, limit: {})", after, limit);
+        CursorPage<PaymentDto> payments = paymentService.getAllPayments(after, limit);
+        return payments.toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -59,12 +67,27 @@ public class PaymentController {
         return ResponseEntity.ok(payment);
     }
 
+    @GetMapping("/{id}/await")
+    @Operation(summary = "Await payment result",
+               description = "Long-poll until the payment leaves PROCESSING or the timeout elapses, then return it")
+    public CompletableFuture<ResponseEntity<PaymentDto>> awaitPayment(
+            @Parameter(description = "Payment ID") @PathVariable Long id,
+            @Parameter(description = "Maximum seconds to wait (0-30)")
+            @RequestParam(required = false, defaultValue = "10") Long timeoutSeconds) {
+        log.info("GET /api/payments/{}/await - Await payment result", id);
+        return paymentService.awaitPayment(id, timeoutSeconds)
+                .thenApply(ResponseEntity::ok);
+    }
+
     @PostMapping
-    @Operation(summary = "Create payment", description = "Process a new payment")
+    @Operation(summary = "Create payment",
+               description = "Accept a new payment for asynchronous processing; poll the returned location for the final status")
     public ResponseEntity<PaymentDto> createPayment(@Valid @RequestBody PaymentDto paymentDto) {
         log.info("POST /api/payments - Create payment");
         PaymentDto createdPayment = paymentService.createPayment(paymentDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/payments/" + createdPayment.getId()))
+                .body(createdPayment);
     }
 
     @PostMapping("/{id}/refund")
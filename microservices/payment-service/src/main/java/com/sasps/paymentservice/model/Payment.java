@@ -55,6 +55,13 @@ public class Payment {
     @Column(name = "failure_reason", length = 500)
     private String failureReason;
 
+    // Claim token of the worker allowed to charge this PROCESSING payment, see PaymentProcessor
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
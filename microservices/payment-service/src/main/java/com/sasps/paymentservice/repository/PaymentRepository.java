@@ -2,9 +2,15 @@ package com.sasps.paymentservice.repository;
 
 import com.sasps.paymentservice.model.Payment;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,5 +19,35 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByBookingId(Long bookingId);
     
     Optional<Payment> findByTransactionId(String transactionId);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.status = 'PROCESSING' " +
+           "AND (p.claimExpiresAt IS NULL OR p.claimExpiresAt < :now) ORDER BY p.id ASC")
+    List<Long> findUnclaimedProcessingIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Takes over a PROCESSING payment whose claim has expired; returns 0 when another claim is still live.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.claimedBy = :token, p.claimExpiresAt = :expiresAt " +
+           "WHERE p.id = :id AND p.status = 'PROCESSING' " +
+           "AND (p.claimExpiresAt IS NULL OR p.claimExpiresAt < :now)")
+    int claim(@Param("id") Long id,
+              @Param("token") String token,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Extends a live claim held by {@code token}; returns 0 when the claim expired or was taken over.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.claimExpiresAt = :expiresAt " +
+           "WHERE p.id = :id AND p.status = 'PROCESSING' " +
+           "AND p.claimedBy = :token AND p.claimExpiresAt >= :now")
+    int renewClaim(@Param("id") Long id,
+                   @Param("token") String token,
+                   @Param("now") LocalDateTime now,
+                   @Param("expiresAt") LocalDateTime expiresAt);
+
+    List<Payment> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
 
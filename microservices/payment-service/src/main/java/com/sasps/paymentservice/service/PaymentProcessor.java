@@ -0,0 +1,203 @@
+package com.sasps.paymentservice.service;
+
+import com.sasps.paymentservice.model.Payment;
+import com.sasps.paymentservice.repository.PaymentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs gateway processing for PROCESSING payments on a dedicated worker pool, outside any
+ * request thread or database transaction, and records the final COMPLETED/FAILED status.
+ * <p>
+ * Each payment is charged under a claim: a per-submission token with a lease of
+ * {@code payment.processing.lease-seconds}. A worker renews the claim right before calling the
+ * gateway and skips the payment if the claim was lost, so a payment resumed by another instance
+ * after a restart or crash is charged once. The lease must outlast the slowest gateway call.
+ */
+@Component
+@Slf4j
+public class PaymentProcessor {
+
+    private final PaymentRepository paymentRepository;
+    private final ThreadPoolTaskExecutor paymentProcessingExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration lease;
+
+    private final Map<Long, CompletableFuture<Void>> completions = new ConcurrentHashMap<>();
+
+    private final Counter paymentsSucceededCounter;
+    private final Counter paymentsFailedCounter;
+    private final Counter paymentsRejectedCounter;
+    private final Timer paymentProcessingTimer;
+
+    public PaymentProcessor(PaymentRepository paymentRepository,
+                            ThreadPoolTaskExecutor paymentProcessingExecutor,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${payment.processing.lease-seconds:60}") long leaseSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.paymentProcessingExecutor = paymentProcessingExecutor;
+        // A rejected submission is failed from an afterCommit callback, so never join the caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+
+        this.paymentsSucceededCounter = Counter.builder("payments.succeeded")
+                .description("Total successful payments")
+                .register(meterRegistry);
+
+        this.paymentsFailedCounter = Counter.builder("payments.failed")
+                .description("Total failed payments")
+                .register(meterRegistry);
+
+        this.paymentsRejectedCounter = Counter.builder("payments.rejected")
+                .description("Payments failed because the processing queue was full")
+                .register(meterRegistry);
+
+        this.paymentProcessingTimer = Timer.builder("payment.processing.time")
+                .description("Payment processing time")
+                .register(meterRegistry);
+
+        Gauge.builder("payments.processing.queue", paymentProcessingExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Payments waiting for a processing worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims a payment about to be inserted, so no other instance resumes it while it waits in this queue.
+     */
+    public String claim(Payment payment) {
+        String token = UUID.randomUUID().toString();
+        payment.setClaimedBy(token);
+        payment.setClaimExpiresAt(LocalDateTime.now().plus(lease));
+        return token;
+    }
+
+    /**
+     * Picks up PROCESSING payments whose claim expired, typically left behind by a stopped instance,
+     * claiming no more than the worker queue can take.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${payment.processing.resume-interval-ms:30000}",
+               initialDelayString = "${payment.processing.resume-interval-ms:30000}")
+    public void resumePendingPayments() {
+        int capacity = paymentProcessingExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> unclaimed = paymentRepository.findUnclaimedProcessingIds(now, Limit.of(capacity));
+        int resumed = 0;
+        for (Long paymentId : unclaimed) {
+            String token = UUID.randomUUID().toString();
+            Integer claimed = transactionTemplate.execute(status ->
+                    paymentRepository.claim(paymentId, token, now, now.plus(lease)));
+            if (claimed != null && claimed == 1) {
+                submit(paymentId, token);
+                resumed++;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resumed processing of {} payments", resumed);
+        }
+    }
+
+    public void submit(Long paymentId, String token) {
+        try {
+            paymentProcessingExecutor.execute(() -> process(paymentId, token));
+        } catch (TaskRejectedException e) {
+            log.warn("Payment processing queue is full, failing payment: {}", paymentId);
+            paymentsRejectedCounter.increment();
+            complete(paymentId, false, "Payment processing capacity exceeded, please retry");
+        }
+    }
+
+    /**
+     * Completes once the payment leaves PROCESSING. Callers must re-read the payment after
+     * registering, since processing may already have finished.
+     */
+    public CompletableFuture<Void> completion(Long paymentId) {
+        return completions.computeIfAbsent(paymentId, id -> new CompletableFuture<>());
+    }
+
+    public void discardCompletion(Long paymentId, CompletableFuture<Void> completion) {
+        completions.remove(paymentId, completion);
+    }
+
+    private void process(Long paymentId, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer renewed = transactionTemplate.execute(status ->
+                paymentRepository.renewClaim(paymentId, token, now, now.plus(lease)));
+        if (renewed == null || renewed == 0) {
+            log.info("Skipping payment {}: it was settled or claimed by another worker", paymentId);
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = chargeGateway(paymentId);
+        complete(paymentId, success, "Payment gateway declined the transaction");
+        sample.stop(paymentProcessingTimer);
+    }
+
+    private void complete(Long paymentId, boolean success, String failureReason) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> paymentRepository.findById(paymentId)
+                    .filter(payment -> payment.getStatus() == Payment.PaymentStatus.PROCESSING)
+                    .ifPresent(payment -> {
+                        if (success) {
+                            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+                            payment.setPaymentDate(LocalDateTime.now());
+                            log.info("Payment processed successfully: {}", paymentId);
+                            paymentsSucceededCounter.increment();
+                        } else {
+                            payment.setStatus(Payment.PaymentStatus.FAILED);
+                            payment.setFailureReason(failureReason);
+                            log.warn("Payment processing failed: {}", paymentId);
+                            paymentsFailedCounter.increment();
+                        }
+                    }));
+        } finally {
+            CompletableFuture<Void> completion = completions.remove(paymentId);
+            if (completion != null) {
+                completion.complete(null);
+            }
+        }
+    }
+
+    private boolean chargeGateway(Long paymentId) {
+        // TODO: SIMULATE PAYMENT
+        try {
+            Thread.sleep(1000); // Simulate processing time
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.sasps.paymentservice.service;
 
 import com.sasps.paymentservice.model.Payment;
 import com.sasps.paymentservice.repository.PaymentRepository;
+import com.sasps.paymentservice.dto.CursorPage;
 import com.sasps.paymentservice.dto.PaymentDto;
 import com.sasps.paymentservice.exception.BusinessException;
 import com.sasps.paymentservice.exception.ResourceNotFoundException;
@@ -9,10 +10,12 @@ import com.sasps.paymentservice.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,41 +24,37 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class PaymentService {
 
+    public static final long MAX_AWAIT_SECONDS = 30;
+
+    private static final long AWAIT_POLL_SECONDS = 2;
+
+    private static final String TRANSACTION_ID_PREFIX = "TXN-";
+
     private final PaymentRepository paymentRepository;
-    private final io.micrometer.core.instrument.MeterRegistry meterRegistry;
+    private final PaymentProcessor paymentProcessor;
+    private final IdGenerator idGenerator;
 
     private final io.micrometer.core.instrument.Counter paymentsCreatedCounter;
-    private final io.micrometer.core.instrument.Counter paymentsSucceededCounter;
-    private final io.micrometer.core.instrument.Counter paymentsFailedCounter;
-    private final io.micrometer.core.instrument.Timer paymentProcessingTimer;
 
     public PaymentService(PaymentRepository paymentRepository,
+              PaymentProcessor paymentProcessor,
+              IdGenerator idGenerator,
               io.micrometer.core.instrument.MeterRegistry meterRegistry) {
     this.paymentRepository = paymentRepository;
-    this.meterRegistry = meterRegistry;
+    this.paymentProcessor = paymentProcessor;
+    this.idGenerator = idGenerator;
 
     this.paymentsCreatedCounter = io.micrometer.core.instrument.Counter.builder("payments.created")
         .description("Total number of payments created")
         .register(meterRegistry);
-
-    this.paymentsSucceededCounter = io.micrometer.core.instrument.Counter.builder("payments.succeeded")
-        .description("Total successful payments")
-        .register(meterRegistry);
-
-    this.paymentsFailedCounter = io.micrometer.core.instrument.Counter.builder("payments.failed")
-        .description("Total failed payments")
-        .register(meterRegistry);
-
-    this.paymentProcessingTimer = io.micrometer.core.instrument.Timer.builder("payment.processing.time")
-        .description("Payment processing time")
-        .register(meterRegistry);
     }
 
-    public List<PaymentDto> getAllPayments() {
-        log.debug("Fetching all payments");
-        return paymentRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<PaymentDto> getAllPayments(Long after, Integer limit) {
+        log.debug("Fetching payments after id: {}", after);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Payment> payments = paymentRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), CursorPage.probeLimit(pageSize));
+        return CursorPage.of(payments, pageSize, Payment::getId, this::convertToDto);
     }
 
     public PaymentDto getPaymentById(Long id) {
@@ -79,11 +78,53 @@ public class PaymentService {
         return convertToDto(payment);
     }
 
+    /**
+     * Waits up to {@code timeoutSeconds} for the payment to leave PROCESSING without holding
+     * a request thread, then returns its current state. A payment processed on this instance wakes
+     * the wait at once; one processed by another instance is noticed by re-reading it every
+     * {@link #AWAIT_POLL_SECONDS} seconds.
+     */
+    public CompletableFuture<PaymentDto> awaitPayment(Long id, long timeoutSeconds) {
+        log.debug("Awaiting completion of payment with id: {}", id);
+        CompletableFuture<Void> completion = paymentProcessor.completion(id);
+        PaymentDto payment;
+        try {
+            payment = getPaymentById(id);
+        } catch (ResourceNotFoundException e) {
+            paymentProcessor.discardCompletion(id, completion);
+            throw e;
+        }
+        if (!isProcessing(payment)) {
+            paymentProcessor.discardCompletion(id, completion);
+            return CompletableFuture.completedFuture(payment);
+        }
+        long timeout = Math.max(0, Math.min(timeoutSeconds, MAX_AWAIT_SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+        return awaitSettled(id, completion, deadline)
+                .whenComplete((settled, error) -> paymentProcessor.discardCompletion(id, completion));
+    }
+
+    private CompletableFuture<PaymentDto> awaitSettled(Long id, CompletableFuture<Void> completion, long deadline) {
+        long wait = Math.max(0, Math.min(deadline - System.nanoTime(), TimeUnit.SECONDS.toNanos(AWAIT_POLL_SECONDS)));
+        return completion.copy()
+                .completeOnTimeout(null, wait, TimeUnit.NANOSECONDS)
+                .thenCompose(ignored -> {
+                    PaymentDto payment = getPaymentById(id);
+                    if (!isProcessing(payment) || System.nanoTime() >= deadline) {
+                        return CompletableFuture.completedFuture(payment);
+                    }
+                    return awaitSettled(id, completion, deadline);
+                });
+    }
+
+    private boolean isProcessing(PaymentDto payment) {
+        return Payment.PaymentStatus.PROCESSING.name().equals(payment.getStatus());
+    }
+
     @Transactional
     public PaymentDto createPayment(PaymentDto paymentDto) {
         log.info("Creating new payment for booking id: {}", paymentDto.getBookingId());
 
-        io.micrometer.core.instrument.Timer.Sample sample = io.micrometer.core.instrument.Timer.start(meterRegistry);
         paymentsCreatedCounter.increment();
 
         if (paymentRepository.findByBookingId(paymentDto.getBookingId()).isPresent()) {
@@ -102,23 +143,17 @@ public class PaymentService {
                 .description(paymentDto.getDescription())
                 .build();
 
-        boolean paymentSuccess = processPayment(payment);
-
-        if (paymentSuccess) {
-            payment.setStatus(Payment.PaymentStatus.COMPLETED);
-            payment.setPaymentDate(LocalDateTime.now());
-            log.info("Payment processed successfully");
-            paymentsSucceededCounter.increment();
-        } else {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
-            payment.setFailureReason("Payment gateway declined the transaction");
-            log.warn("Payment processing failed");
-            paymentsFailedCounter.increment();
-        }
-
+        String claim = paymentProcessor.claim(payment);
         Payment savedPayment = paymentRepository.save(payment);
-        log.info("Payment created with id: {}", savedPayment.getId());
-        sample.stop(paymentProcessingTimer);
+        log.info("Payment created with id: {}, queued for processing", savedPayment.getId());
+
+        Long paymentId = savedPayment.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                paymentProcessor.submit(paymentId, claim);
+            }
+        });
 
         return convertToDto(savedPayment);
     }
@@ -151,19 +186,8 @@ public class PaymentService {
         log.info("Payment deleted successfully with id: {}", id);
     }
 
-    private boolean processPayment(Payment payment) {
-        // TODO: SIMULATE PAYMENT
-        try {
-            Thread.sleep(1000); // Simulate processing time
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-    }
-
     private String generateTransactionId() {
-        return "TXN-" + UUID.randomUUID().toString().toUpperCase();
+        return TRANSACTION_ID_PREFIX + idGenerator.nextId();
     }
 
     private PaymentDto convertToDto(Payment payment) {
@@ -0,0 +1,8 @@
+-- A PROCESSING payment is charged only by the instance holding its claim; an expired claim
+-- (the instance died or was restarted mid-queue) can be taken over by any instance
+ALTER TABLE payments ADD COLUMN claimed_by VARCHAR(64);
+ALTER TABLE payments ADD COLUMN claim_expires_at TIMESTAMP;
+
+CREATE INDEX idx_payments_processing_claims
+    ON payments (claim_expires_at, id)
+    WHERE status = 'PROCESSING';
@@ -0,0 +1,22 @@
+package com.sasps.roomservice.client;
+
+import com.sasps.roomservice.dto.BookedRoomsRequest;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@FeignClient(name = "booking-service", url = "${booking-service.url:http://booking-service:8083}")
+public interface BookingServiceClient {
+
+    int MAX_ROOM_IDS = 500;
+
+    /**
+     * Returns the subset of {@code request.roomIds} booked during the stay; booking-service accepts at most
+     * {@link #MAX_ROOM_IDS} ids per call.
+     */
+    @PostMapping("/api/bookings/booked-rooms")
+    List<Long> getBookedRoomIds(@RequestBody BookedRoomsRequest request);
+}
@@ -0,0 +1,69 @@
+package com.sasps.roomservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica's replay delay and decides whether read-only transactions may use it.
+ * The replica starts out unusable and is also taken out of rotation when the probe fails.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // An idle primary sends no new WAL, so a replica that has replayed everything it received is current.
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END""";
+
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    private volatile double lagMs = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagMs / 1000)
+                .description("Replication delay of the read replica, NaN while it cannot be reached")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.available", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        boolean wasUsable = usable;
+        try {
+            Double measured = replica.queryForObject(LAG_QUERY, Double.class);
+            lagMs = measured == null ? 0 : measured;
+            usable = lagMs <= maxLagMs;
+        } catch (RuntimeException e) {
+            lagMs = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Read replica probe failed, routing read-only transactions to the primary", e);
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            log.info("Read replica lag is {} ms (limit {} ms), read-only transactions now go to the {}",
+                    Math.round(lagMs), maxLagMs, usable ? "replica" : "primary");
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sasps.roomservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections opened inside a read-only transaction to the replica pool and everything else
+ * to the primary. Read-only work falls back to the primary while the replica is lagging or down.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * connection is fetched after the transaction's read-only flag has been bound.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter readOnlyOnReplica;
+    private final Counter readOnlyOnPrimary;
+    private final Counter readWriteOnPrimary;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readOnlyOnReplica = routedCounter(meterRegistry, REPLICA, "read-only");
+        this.readOnlyOnPrimary = routedCounter(meterRegistry, PRIMARY, "read-only");
+        this.readWriteOnPrimary = routedCounter(meterRegistry, PRIMARY, "read-write");
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWriteOnPrimary.increment();
+            return PRIMARY;
+        }
+        if (lagMonitor.isReplicaUsable()) {
+            readOnlyOnReplica.increment();
+            return REPLICA;
+        }
+        readOnlyOnPrimary.increment();
+        return PRIMARY;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String pool, String transaction) {
+        return Counter.builder("db.routing.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("pool", pool)
+                .tag("transaction", transaction)
+                .register(meterRegistry);
+    }
+}
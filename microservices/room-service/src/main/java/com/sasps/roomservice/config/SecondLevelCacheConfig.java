@@ -0,0 +1,94 @@
+package com.sasps.roomservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.sasps.roomservice.model.Hotel;
+import com.sasps.roomservice.model.Room;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the hotel/room catalogue, backed by Caffeine through JCache.
+ * Every region is created here with a bounded size; Hibernate is configured to fail on a
+ * region that is not declared rather than silently creating an unbounded one.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<String> CATALOGUE_REGIONS = List.of(
+            Hotel.class.getName(),
+            Hotel.class.getName() + ".rooms",
+            Room.class.getName());
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${catalogue.cache.max-entries:20000}") long maxEntries,
+            @Value("${catalogue.cache.query-max-entries:5000}") long queryMaxEntries) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : CATALOGUE_REGIONS) {
+            cacheManager.createCache(region, bounded(maxEntries));
+        }
+        cacheManager.createCache(QUERY_RESULTS_REGION, bounded(queryMaxEntries));
+        // One entry per table; must never be evicted or cached queries could outlive a write.
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : CATALOGUE_REGIONS) {
+                registerHitRatio(registry, statistics, region);
+            }
+            registerHitRatio(registry, statistics, QUERY_RESULTS_REGION);
+        };
+    }
+
+    private static void registerHitRatio(MeterRegistry registry, Statistics statistics, String region) {
+        Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics,
+                        stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                .description("Share of second-level cache lookups answered from the cache")
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sasps.roomservice.controller;
 
 import com.sasps.roomservice.dto.RoomDto;
+import com.sasps.roomservice.dto.RoomStatusEventDto;
 import com.sasps.roomservice.service.RoomService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,6 +37,15 @@ public class RoomController {
 
     private final RoomService roomService;
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get rooms by IDs", description = "Retrieve several rooms in one call; unknown IDs are omitted from the result")
+    public ResponseEntity<List<RoomDto>> getRoomsByIds(
+            @Parameter(description = "Comma-separated room IDs") @RequestParam List<Long> ids) {
+        log.info("GET /api/rooms/batch - Get {} rooms by ID", ids.size());
+        List<RoomDto> rooms = roomService.getRoomsByIds(ids);
+        return ResponseEntity.ok(rooms);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get room by ID", description = "Retrieve a specific room by its ID")
     public ResponseEntity<RoomDto> getRoomById(
@@ -110,6 +120,15 @@ public class RoomController {
         return ResponseEntity.ok(updatedRoom);
     }
 
+    @PostMapping("/status-events")
+    @Operation(summary = "Apply room status events", description = "Apply a batch of idempotent room status changes; already processed keys are reported as duplicates")
+    public ResponseEntity<List<RoomStatusEventDto.Result>> applyStatusEvents(
+            @RequestBody List<RoomStatusEventDto.Request> events) {
+        log.info("POST /api/rooms/status-events - Apply {} room status events", events.size());
+        List<RoomStatusEventDto.Result> results = roomService.applyStatusEvents(events);
+        return ResponseEntity.ok(results);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete room", description = "Delete a room from the system")
     public ResponseEntity<Void> deleteRoom(
@@ -0,0 +1,22 @@
+package com.sasps.roomservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Candidate rooms sent to booking-service, which answers with the ones booked during the stay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookedRoomsRequest {
+    private List<Long> roomIds;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+}
@@ -0,0 +1,16 @@
+package com.sasps.roomservice.dto;
+
+import com.sasps.roomservice.model.Hotel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Hotel row together with its room counters, as aggregated by {@code HotelRepository}.
+ */
+@Data
+@AllArgsConstructor
+public class HotelWithRoomCounts {
+    private Hotel hotel;
+    private long totalRooms;
+    private long availableRooms;
+}
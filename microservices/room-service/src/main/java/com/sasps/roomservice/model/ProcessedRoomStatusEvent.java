@@ -0,0 +1,34 @@
+package com.sasps.roomservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "processed_room_status_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedRoomStatusEvent {
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
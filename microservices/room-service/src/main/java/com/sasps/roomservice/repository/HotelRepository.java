@@ -1,16 +1,45 @@
 package com.sasps.roomservice.repository;
 
+import com.sasps.roomservice.dto.HotelWithRoomCounts;
 import com.sasps.roomservice.model.Hotel;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, Long> {
+public interface HotelRepository extends JpaRepository<Hotel, Long>, HotelRepositoryCustom {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Hotel> findByActiveTrue();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Hotel> findByCity(String city);
+
+    String WITH_ROOM_COUNTS = "SELECT new com.sasps.roomservice.dto.HotelWithRoomCounts(h, COUNT(r), " +
+           "COALESCE(SUM(CASE WHEN r.status = 'AVAILABLE' THEN 1 ELSE 0 END), 0)) " +
+           "FROM Hotel h LEFT JOIN h.rooms r ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "GROUP BY h")
+    List<HotelWithRoomCounts> findAllWithRoomCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.active = true GROUP BY h")
+    List<HotelWithRoomCounts> findActiveWithRoomCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.id = :id GROUP BY h")
+    Optional<HotelWithRoomCounts> findWithRoomCountsById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.city = :city GROUP BY h")
+    List<HotelWithRoomCounts> findWithRoomCountsByCity(@Param("city") String city);
 }
 
@@ -0,0 +1,13 @@
+package com.sasps.roomservice.repository;
+
+import com.sasps.roomservice.dto.HotelWithRoomCounts;
+import com.sasps.roomservice.model.Hotel;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface HotelRepositoryCustom {
+
+    List<HotelWithRoomCounts> findWithRoomCounts(Specification<Hotel> specification);
+}
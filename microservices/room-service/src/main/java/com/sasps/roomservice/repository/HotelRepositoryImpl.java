@@ -0,0 +1,51 @@
+package com.sasps.roomservice.repository;
+
+import com.sasps.roomservice.dto.HotelWithRoomCounts;
+import com.sasps.roomservice.model.Hotel;
+import com.sasps.roomservice.model.Room;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria counterpart of {@link HotelRepository#WITH_ROOM_COUNTS} that accepts dynamic filters.
+ */
+public class HotelRepositoryImpl implements HotelRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<HotelWithRoomCounts> findWithRoomCounts(Specification<Hotel> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HotelWithRoomCounts> query = cb.createQuery(HotelWithRoomCounts.class);
+        Root<Hotel> hotel = query.from(Hotel.class);
+        Join<Hotel, Room> room = hotel.join("rooms", JoinType.LEFT);
+
+        Expression<Long> availableRooms = cb.coalesce(
+                cb.sum(cb.<Long>selectCase()
+                        .when(cb.equal(room.get("status"), Room.RoomStatus.AVAILABLE), 1L)
+                        .otherwise(0L)),
+                0L);
+        query.select(cb.construct(HotelWithRoomCounts.class, hotel, cb.count(room), availableRooms));
+
+        Predicate predicate = specification.toPredicate(hotel, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(hotel);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
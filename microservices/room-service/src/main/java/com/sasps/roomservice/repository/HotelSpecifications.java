@@ -0,0 +1,59 @@
+package com.sasps.roomservice.repository;
+
+import com.sasps.roomservice.model.Hotel;
+import com.sasps.roomservice.model.Room;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable filters for hotel searches; a {@code null} or blank criterion leaves the query unrestricted.
+ */
+public final class HotelSpecifications {
+
+    private HotelSpecifications() {
+    }
+
+    public static Specification<Hotel> nameOrDescriptionContains(String searchTerm) {
+        return (root, query, cb) -> {
+            if (searchTerm == null || searchTerm.isEmpty()) {
+                return null;
+            }
+            String pattern = "%" + searchTerm.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern));
+        };
+    }
+
+    public static Specification<Hotel> inCity(String city) {
+        return (root, query, cb) -> city == null ? null
+                : cb.equal(cb.lower(root.get("city")), city.toLowerCase());
+    }
+
+    public static Specification<Hotel> inCountry(String country) {
+        return (root, query, cb) -> country == null ? null
+                : cb.equal(cb.lower(root.get("country")), country.toLowerCase());
+    }
+
+    public static Specification<Hotel> ratedAtLeast(Integer minStarRating) {
+        return (root, query, cb) -> minStarRating == null ? null
+                : cb.greaterThanOrEqualTo(root.get("starRating"), minStarRating);
+    }
+
+    public static Specification<Hotel> withAvailableRooms(Boolean onlyWithAvailableRooms) {
+        return (root, query, cb) -> {
+            if (!Boolean.TRUE.equals(onlyWithAvailableRooms)) {
+                return null;
+            }
+            Subquery<Long> availableRoom = query.subquery(Long.class);
+            Root<Room> room = availableRoom.from(Room.class);
+            availableRoom.select(room.get("id"))
+                    .where(cb.equal(room.get("hotel"), root),
+                            cb.equal(room.get("status"), Room.RoomStatus.AVAILABLE));
+            return cb.exists(availableRoom);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.sasps.roomservice.repository;
+
+import com.sasps.roomservice.model.ProcessedRoomStatusEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedRoomStatusEventRepository extends JpaRepository<ProcessedRoomStatusEvent, String> {
+
+    @Modifying
+    @Query(value = "DELETE FROM processed_room_status_events WHERE idempotency_key IN (" +
+           "SELECT idempotency_key FROM processed_room_status_events " +
+           "WHERE processed_at < :cutoff ORDER BY processed_at LIMIT :limit)", nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
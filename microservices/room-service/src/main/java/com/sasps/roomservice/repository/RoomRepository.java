@@ -2,21 +2,32 @@ package com.sasps.roomservice.repository;
 
 import com.sasps.roomservice.model.Room;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Room> findByHotelId(Long hotelId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Room> findByRoomNumberAndHotelId(String roomNumber, Long hotelId);
     
     boolean existsByRoomNumberAndHotelId(String roomNumber, Long hotelId);
 
     List<Room> findByRoomType(Room.RoomType roomType);
+
+    @Override
+    @EntityGraph(attributePaths = "hotel")
+    List<Room> findAllById(Iterable<Long> ids);
 }
 
@@ -0,0 +1,62 @@
+package com.sasps.roomservice.repository;
+
+import com.sasps.roomservice.model.Room;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Composable filters for room searches; a {@code null} criterion leaves the query unrestricted.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    public static Specification<Room> hasStatus(Room.RoomStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Room> inHotel(Long hotelId) {
+        return (root, query, cb) -> hotelId == null ? null
+                : cb.equal(root.get("hotel").get("id"), hotelId);
+    }
+
+    public static Specification<Room> ofType(Room.RoomType roomType) {
+        return (root, query, cb) -> roomType == null ? null
+                : cb.equal(root.get("roomType"), roomType);
+    }
+
+    public static Specification<Room> fitsAtLeast(Integer occupancy) {
+        return (root, query, cb) -> occupancy == null ? null
+                : cb.greaterThanOrEqualTo(root.get("maxOccupancy"), occupancy);
+    }
+
+    public static Specification<Room> pricedBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> {
+            if (minPrice != null && maxPrice != null) {
+                return cb.between(root.get("pricePerNight"), minPrice, maxPrice);
+            }
+            if (minPrice != null) {
+                return cb.greaterThanOrEqualTo(root.get("pricePerNight"), minPrice);
+            }
+            if (maxPrice != null) {
+                return cb.lessThanOrEqualTo(root.get("pricePerNight"), maxPrice);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Fetches the owning hotel in the same statement, so mapping the result does not issue one query per room.
+     */
+    public static Specification<Room> fetchHotel() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("hotel");
+            }
+            return null;
+        };
+    }
+}
@@ -1,13 +1,16 @@
 package com.sasps.roomservice.service;
 
 import com.sasps.roomservice.dto.HotelDto;
+import com.sasps.roomservice.dto.HotelWithRoomCounts;
 import com.sasps.roomservice.exception.ResourceNotFoundException;
 import com.sasps.roomservice.model.Hotel;
 import com.sasps.roomservice.repository.HotelRepository;
+import com.sasps.roomservice.repository.HotelSpecifications;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,23 +27,23 @@ public class HotelService {
 
     public List<HotelDto> getAllHotels() {
         log.debug("Fetching all hotels");
-        return hotelRepository.findAll().stream()
+        return hotelRepository.findAllWithRoomCounts().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     public List<HotelDto> getAllActiveHotels() {
         log.debug("Fetching all active hotels");
-        return hotelRepository.findByActiveTrue().stream()
+        return hotelRepository.findActiveWithRoomCounts().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     public HotelDto getHotelById(Long id) {
         log.debug("Fetching hotel with id: {}", id);
-        Hotel hotel = hotelRepository.findById(id)
+        return hotelRepository.findWithRoomCountsById(id)
+                .map(this::convertToDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", id));
-        return convertToDto(hotel);
     }
 
     @Transactional
@@ -102,55 +105,34 @@ public class HotelService {
 
     public List<HotelDto> getHotelsByCity(String city) {
         log.debug("Fetching hotels in city: {}", city);
-        return hotelRepository.findByCity(city).stream()
+        return hotelRepository.findWithRoomCountsByCity(city).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     public List<HotelDto> searchHotels(HotelDto.SearchRequest searchRequest) {
         log.debug("Searching hotels with criteria: {}", searchRequest);
-        
-        List<Hotel> hotels = hotelRepository.findAll();
-        
-        return hotels.stream()
-                .filter(hotel -> {
-                    if (searchRequest.getSearchTerm() != null && !searchRequest.getSearchTerm().isEmpty()) {
-                        String searchTerm = searchRequest.getSearchTerm().toLowerCase();
-                        boolean matchesName = hotel.getName().toLowerCase().contains(searchTerm);
-                        boolean matchesDescription = hotel.getDescription() != null && 
-                                hotel.getDescription().toLowerCase().contains(searchTerm);
-                        if (!matchesName && !matchesDescription) {
-                            return false;
-                        }
-                    }
-                    
-                    if (searchRequest.getCity() != null && !hotel.getCity().equalsIgnoreCase(searchRequest.getCity())) {
-                        return false;
-                    }
-                    
-                    if (searchRequest.getCountry() != null && !hotel.getCountry().equalsIgnoreCase(searchRequest.getCountry())) {
-                        return false;
-                    }
-                    
-                    if (searchRequest.getMinStarRating() != null &&
-                        (hotel.getStarRating() == null || hotel.getStarRating() < searchRequest.getMinStarRating())) {
-                        return false;
-                    }
-                    
-                    if (searchRequest.getOnlyWithAvailableRooms() != null && searchRequest.getOnlyWithAvailableRooms()) {
-                        long availableRooms = hotel.getRooms().stream()
-                                .filter(room -> room.getStatus() == com.sasps.roomservice.model.Room.RoomStatus.AVAILABLE)
-                                .count();
-                      return availableRooms != 0;
-                    }
-                    
-                    return true;
-                })
+        Specification<Hotel> specification = Specification
+                .where(HotelSpecifications.nameOrDescriptionContains(searchRequest.getSearchTerm()))
+                .and(HotelSpecifications.inCity(searchRequest.getCity()))
+                .and(HotelSpecifications.inCountry(searchRequest.getCountry()))
+                .and(HotelSpecifications.ratedAtLeast(searchRequest.getMinStarRating()))
+                .and(HotelSpecifications.withAvailableRooms(searchRequest.getOnlyWithAvailableRooms()));
+
+        return hotelRepository.findWithRoomCounts(specification).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    private HotelDto convertToDto(HotelWithRoomCounts row) {
+        return convertToDto(row.getHotel(), row.getTotalRooms());
+    }
+
     private HotelDto convertToDto(Hotel hotel) {
+        return convertToDto(hotel, hotel.getRooms().size());
+    }
+
+    private HotelDto convertToDto(Hotel hotel, long roomCount) {
         return HotelDto.builder()
                 .id(hotel.getId())
                 .name(hotel.getName())
@@ -166,7 +148,7 @@ public class HotelService {
                 .amenities(hotel.getAmenities())
                 .imageUrl(hotel.getImageUrl())
                 .active(hotel.getActive())
-                .roomCount(hotel.getRooms().size())
+                .roomCount((int) roomCount)
                 .createdAt(hotel.getCreatedAt())
                 .updatedAt(hotel.getUpdatedAt())
                 .build();
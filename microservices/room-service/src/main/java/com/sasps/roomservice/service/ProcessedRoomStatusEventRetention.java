@@ -0,0 +1,51 @@
+package com.sasps.roomservice.service;
+
+import com.sasps.roomservice.repository.ProcessedRoomStatusEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes idempotency keys of applied room status events once booking-service can no longer redeliver
+ * them. The retention must stay at or above {@code booking.outbox.retention-days}, or a late redelivery
+ * would be applied twice.
+ */
+@Component
+@Slf4j
+public class ProcessedRoomStatusEventRetention {
+
+    private final ProcessedRoomStatusEventRepository processedStatusEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public ProcessedRoomStatusEventRetention(ProcessedRoomStatusEventRepository processedStatusEventRepository,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${room.status-events.retention-days:7}") int retentionDays,
+                                             @Value("${room.status-events.purge-batch-size:1000}") int batchSize) {
+        this.processedStatusEventRepository = processedStatusEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${room.status-events.purge-cron:0 50 3 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    processedStatusEventRepository.deleteProcessedBefore(cutoff, batchSize));
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            log.info("Purged {} processed room status events older than {}", purged, cutoff);
+        }
+    }
+}
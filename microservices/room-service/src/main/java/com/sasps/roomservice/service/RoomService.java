@@ -1,18 +1,35 @@
 package com.sasps.roomservice.service;
 
+import com.sasps.roomservice.client.BookingServiceClient;
 import com.sasps.roomservice.model.Hotel;
+import com.sasps.roomservice.model.ProcessedRoomStatusEvent;
 import com.sasps.roomservice.model.Room;
 import com.sasps.roomservice.repository.HotelRepository;
+import com.sasps.roomservice.repository.ProcessedRoomStatusEventRepository;
 import com.sasps.roomservice.repository.RoomRepository;
+import com.sasps.roomservice.repository.RoomSpecifications;
+import com.sasps.roomservice.dto.BookedRoomsRequest;
 import com.sasps.roomservice.dto.RoomDto;
+import com.sasps.roomservice.dto.RoomStatusEventDto;
 import com.sasps.roomservice.exception.BusinessException;
 import com.sasps.roomservice.exception.ResourceNotFoundException;
+import com.sasps.roomservice.exception.ServiceUnavailableException;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,8 +38,12 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class RoomService {
 
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
+    private final ProcessedRoomStatusEventRepository processedStatusEventRepository;
+    private final BookingServiceClient bookingServiceClient;
 
     public RoomDto getRoomById(Long id) {
         log.debug("Fetching room with id: {}", id);
@@ -31,6 +52,17 @@ public class RoomService {
         return convertToDto(room);
     }
 
+    public List<RoomDto> getRoomsByIds(List<Long> ids) {
+        log.debug("Fetching rooms with ids: {}", ids);
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("At most " + MAX_BATCH_SIZE + " room ids can be requested at once");
+        }
+        return roomRepository.findAllById(distinctIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
     public List<RoomDto> getRoomsByHotel(Long hotelId) {
         log.debug("Fetching all rooms for hotel: {}", hotelId);
         if (!hotelRepository.existsById(hotelId)) {
@@ -58,38 +90,64 @@ public class RoomService {
 
     public List<RoomDto> searchAvailableRooms(RoomDto.SearchRequest searchRequest) {
         log.debug("Searching available rooms with criteria: {}", searchRequest);
-        
-        // Start with all rooms
-        List<Room> rooms = roomRepository.findAll();
-        
-        // Apply filters
-        return rooms.stream()
-                .filter(room -> {
-                    if (searchRequest.getHotelId() != null && !room.getHotel().getId().equals(searchRequest.getHotelId())) {
-                        return false;
-                    }
-                    
-                    if (searchRequest.getRoomType() != null && !room.getRoomType().name().equals(searchRequest.getRoomType())) {
-                        return false;
-                    }
-                    
-                    if (searchRequest.getMinOccupancy() != null && room.getMaxOccupancy() < searchRequest.getMinOccupancy()) {
-                        return false;
-                    }
-                    
-                    if (searchRequest.getMinPrice() != null && room.getPricePerNight().compareTo(searchRequest.getMinPrice()) < 0) {
-                        return false;
-                    }
-                    if (searchRequest.getMaxPrice() != null && room.getPricePerNight().compareTo(searchRequest.getMaxPrice()) > 0) {
-                        return false;
-                    }
-                    
-                    return room.getStatus() == Room.RoomStatus.AVAILABLE;
-                })
+        if (!searchRequest.getCheckOutDate().isAfter(searchRequest.getCheckInDate())) {
+            throw new BusinessException("Check-out date must be after check-in date");
+        }
+
+        Specification<Room> specification = Specification
+                .where(RoomSpecifications.hasStatus(Room.RoomStatus.AVAILABLE))
+                .and(RoomSpecifications.inHotel(searchRequest.getHotelId()))
+                .and(RoomSpecifications.ofType(parseRoomType(searchRequest.getRoomType())))
+                .and(RoomSpecifications.fitsAtLeast(searchRequest.getMinOccupancy()))
+                .and(RoomSpecifications.pricedBetween(searchRequest.getMinPrice(), searchRequest.getMaxPrice()))
+                .and(RoomSpecifications.fetchHotel());
+
+        List<Room> candidates = roomRepository.findAll(specification);
+        Set<Long> bookedRoomIds = findBookedRoomIds(candidates,
+                searchRequest.getCheckInDate(), searchRequest.getCheckOutDate());
+
+        return candidates.stream()
+                .filter(room -> !bookedRoomIds.contains(room.getId()))
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Asks booking-service which of the matching rooms are taken, at most {@link BookingServiceClient#MAX_ROOM_IDS}
+     * ids per call, so neither the request nor the SQL it runs grows with the whole inventory.
+     */
+    private Set<Long> findBookedRoomIds(List<Room> candidates, LocalDate checkInDate, LocalDate checkOutDate) {
+        List<Long> candidateIds = candidates.stream().map(Room::getId).collect(Collectors.toList());
+        Set<Long> booked = new HashSet<>();
+        for (int from = 0; from < candidateIds.size(); from += BookingServiceClient.MAX_ROOM_IDS) {
+            List<Long> chunk = candidateIds.subList(from,
+                    Math.min(from + BookingServiceClient.MAX_ROOM_IDS, candidateIds.size()));
+            try {
+                booked.addAll(bookingServiceClient.getBookedRoomIds(BookedRoomsRequest.builder()
+                        .roomIds(chunk)
+                        .checkInDate(checkInDate)
+                        .checkOutDate(checkOutDate)
+                        .build()));
+            } catch (FeignException e) {
+                // Without bookings every room would look free, so refuse the search rather than overbook
+                log.warn("booking-service could not check {} rooms: {}", chunk.size(), e.getMessage());
+                throw new ServiceUnavailableException("Room availability is temporarily unavailable", e);
+            }
+        }
+        return booked;
+    }
+
+    private Room.RoomType parseRoomType(String roomType) {
+        if (roomType == null) {
+            return null;
+        }
+        try {
+            return Room.RoomType.valueOf(roomType);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid room type: " + roomType);
+        }
+    }
+
     @Transactional
     public RoomDto createRoom(RoomDto.CreateRequest request) {
         log.info("Creating new room with room number: {} in hotel: {}", request.getRoomNumber(), request.getHotelId());
@@ -167,6 +225,70 @@ public class RoomService {
         return convertToDto(updatedRoom);
     }
 
+    /**
+     * Applies room status events relayed from booking-service in order. Events whose idempotency key
+     * was already processed are reported as duplicates; events that can never succeed are rejected
+     * instead of failing the whole batch.
+     */
+    @Transactional
+    public List<RoomStatusEventDto.Result> applyStatusEvents(List<RoomStatusEventDto.Request> events) {
+        if (events.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("At most " + MAX_BATCH_SIZE + " status events can be applied at once");
+        }
+        Set<String> processedKeys = new HashSet<>();
+        processedStatusEventRepository.findAllById(events.stream()
+                        .map(RoomStatusEventDto.Request::getIdempotencyKey)
+                        .collect(Collectors.toSet()))
+                .forEach(processed -> processedKeys.add(processed.getIdempotencyKey()));
+        Map<Long, Room> rooms = roomRepository.findAllById(events.stream()
+                        .map(RoomStatusEventDto.Request::getRoomId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<RoomStatusEventDto.Result> results = new ArrayList<>(events.size());
+        for (RoomStatusEventDto.Request event : events) {
+            String key = event.getIdempotencyKey();
+            if (!processedKeys.add(key)) {
+                results.add(statusEventResult(key, RoomStatusEventDto.Outcome.DUPLICATE, null));
+                continue;
+            }
+            Room room = rooms.get(event.getRoomId());
+            if (room == null) {
+                results.add(statusEventResult(key, RoomStatusEventDto.Outcome.REJECTED,
+                        "Room not found with id: " + event.getRoomId()));
+                continue;
+            }
+            Room.RoomStatus status;
+            try {
+                status = Room.RoomStatus.valueOf(event.getStatus());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                results.add(statusEventResult(key, RoomStatusEventDto.Outcome.REJECTED,
+                        "Invalid room status: " + event.getStatus()));
+                continue;
+            }
+            room.setStatus(status);
+            processedStatusEventRepository.save(ProcessedRoomStatusEvent.builder()
+                    .idempotencyKey(key)
+                    .roomId(room.getId())
+                    .status(status.name())
+                    .processedAt(now)
+                    .build());
+            results.add(statusEventResult(key, RoomStatusEventDto.Outcome.APPLIED, null));
+        }
+        log.info("Applied {} room status events", events.size());
+        return results;
+    }
+
+    private static RoomStatusEventDto.Result statusEventResult(String key, RoomStatusEventDto.Outcome outcome,
+                                                               String message) {
+        return RoomStatusEventDto.Result.builder()
+                .idempotencyKey(key)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+
     private RoomDto convertToDto(Room room) {
         return RoomDto.builder()
                 .id(room.getId())
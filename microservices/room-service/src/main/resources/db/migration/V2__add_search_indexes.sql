@@ -0,0 +1,7 @@
+-- Room search always filters on status, then optionally on hotel or on type and price
+CREATE INDEX idx_rooms_status_hotel_id ON rooms(status, hotel_id);
+CREATE INDEX idx_rooms_status_type_price ON rooms(status, room_type, price_per_night);
+
+-- Hotel search compares city and country case-insensitively
+CREATE INDEX idx_hotels_lower_city ON hotels(LOWER(city));
+CREATE INDEX idx_hotels_lower_country ON hotels(LOWER(country));
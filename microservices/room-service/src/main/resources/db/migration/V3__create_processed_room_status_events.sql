@@ -0,0 +1,7 @@
+-- Idempotency keys of room status events already applied, so redelivered events are not applied twice
+CREATE TABLE processed_room_status_events (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,3 @@
+-- The retention job deletes processed keys oldest first
+CREATE INDEX idx_processed_room_status_events_processed_at
+    ON processed_room_status_events (processed_at);
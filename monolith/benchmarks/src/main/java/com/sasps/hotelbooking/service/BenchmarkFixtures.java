@@ -0,0 +1,177 @@
+package com.sasps.hotelbooking.service;
+
+import com.sasps.hotelbooking.dto.HotelWithRoomCounts;
+import com.sasps.hotelbooking.model.Booking;
+import com.sasps.hotelbooking.model.Hotel;
+import com.sasps.hotelbooking.model.Room;
+import com.sasps.hotelbooking.model.User;
+import com.sasps.hotelbooking.repository.BookingRepository;
+import com.sasps.hotelbooking.repository.HotelRepository;
+import com.sasps.hotelbooking.repository.RoomNightRepository;
+import com.sasps.hotelbooking.repository.RoomRepository;
+import com.sasps.hotelbooking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory catalogue and services wired to repository stubs, so the benchmarks
+ * measure the service code only.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] CITIES = {"Bucharest", "Cluj-Napoca", "Iasi", "Timisoara", "Brasov", "Constanta"};
+    private static final Room.RoomType[] ROOM_TYPES = Room.RoomType.values();
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Hotel> hotels(int count) {
+        List<Hotel> hotels = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String city = CITIES[i % CITIES.length];
+            hotels.add(Hotel.builder()
+                    .id((long) i)
+                    .name("Hotel " + city + " " + i)
+                    .description("Benchmark hotel " + i)
+                    .address("Strada Principala " + i)
+                    .city(city)
+                    .country("Romania")
+                    .starRating(1 + i % 5)
+                    .active(true)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return hotels;
+    }
+
+    static List<Room> rooms(List<Hotel> hotels, int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Hotel hotel = hotels.get(i % hotels.size());
+            rooms.add(Room.builder()
+                    .id((long) i)
+                    .hotel(hotel)
+                    .roomNumber(String.valueOf(100 + i % 900))
+                    .roomType(ROOM_TYPES[i % ROOM_TYPES.length])
+                    .pricePerNight(BigDecimal.valueOf(5_000 + random.nextInt(45_000), 2))
+                    .maxOccupancy(1 + random.nextInt(6))
+                    .description("Benchmark room " + i)
+                    .floorNumber(i % 10)
+                    .status(Room.RoomStatus.AVAILABLE)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return rooms;
+    }
+
+    static Booking booking(Room room) {
+        User user = User.builder()
+                .id(1L)
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .firstName("Ana")
+                .lastName("Popescu")
+                .build();
+        LocalDate checkIn = LocalDate.of(2030, 6, 1);
+        LocalDate checkOut = checkIn.plusDays(5);
+        BigDecimal totalPrice = BookingService.calculateTotalPrice(room.getPricePerNight(), checkIn, checkOut);
+        return Booking.builder()
+                .id(1L)
+                .user(user)
+                .room(room)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .numberOfGuests(2)
+                .totalPrice(totalPrice)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .confirmationNumber("BK-0000BEEF")
+                .paymentStatus(Booking.PaymentStatus.PAID)
+                .paymentMethod("CREDIT_CARD")
+                .paidAmount(totalPrice)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+    }
+
+    static List<HotelWithRoomCounts> withRoomCounts(List<Hotel> hotels) {
+        List<HotelWithRoomCounts> rows = new ArrayList<>(hotels.size());
+        for (Hotel hotel : hotels) {
+            long totalRooms = 20 + hotel.getId() % 80;
+            rows.add(new HotelWithRoomCounts(hotel, totalRooms, hotel.getId() % 3 == 0 ? 0 : totalRooms / 2));
+        }
+        return rows;
+    }
+
+    static RoomService roomService(List<Room> availableRooms) {
+        RoomRepository roomRepository = stub(RoomRepository.class, Map.of(
+                "findAvailableRoomsForDates", availableRooms,
+                "findAvailableRoomsByTypeForDates", availableRooms,
+                "findAvailableRoomsForHotelAndDates", availableRooms));
+        HotelRepository hotelRepository = stub(HotelRepository.class, Map.of("existsById", true));
+        return new RoomService(roomRepository, hotelRepository, stub(RoomNightRepository.class, Map.of()),
+                coldAvailabilityIndex(), disabledSearchCache());
+    }
+
+    static HotelService hotelService(List<HotelWithRoomCounts> activeHotels) {
+        HotelRepository hotelRepository = stub(HotelRepository.class, Map.of("findActiveWithRoomCounts", activeHotels));
+        return new HotelService(hotelRepository, disabledSearchCache());
+    }
+
+    static BookingService bookingService() {
+        return bookingService(new SnowflakeIdGenerator(0));
+    }
+
+    static BookingService bookingService(IdGenerator idGenerator) {
+        return new BookingService(
+                stub(BookingRepository.class, Map.of()),
+                stub(RoomRepository.class, Map.of()),
+                stub(UserRepository.class, Map.of()),
+                stub(RoomNightRepository.class, Map.of()),
+                coldAvailabilityIndex(),
+                disabledSearchCache(),
+                idGenerator,
+                new SimpleMeterRegistry());
+    }
+
+    private static RoomAvailabilityIndex coldAvailabilityIndex() {
+        return new RoomAvailabilityIndex(stub(BookingRepository.class, Map.of()), new SimpleMeterRegistry(), false);
+    }
+
+    private static RoomSearchCache disabledSearchCache() {
+        return new RoomSearchCache(new SimpleMeterRegistry(), false, 1, 1);
+    }
+
+    /**
+     * Repository stub answering the named methods with fixed results and failing on anything else.
+     */
+    private static <T> T stub(Class<T> repository, Map<String, Object> results) {
+        Object proxy = Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (instance, method, args) -> {
+                    String name = method.getName();
+                    if (results.containsKey(name)) {
+                        return results.get(name);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (name) {
+                            case "hashCode" -> System.identityHashCode(instance);
+                            case "equals" -> instance == args[0];
+                            default -> repository.getSimpleName() + " stub";
+                        };
+                    }
+                    throw new UnsupportedOperationException(repository.getSimpleName() + "." + name);
+                });
+        return repository.cast(proxy);
+    }
+}
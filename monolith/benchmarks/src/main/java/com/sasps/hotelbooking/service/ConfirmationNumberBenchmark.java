@@ -0,0 +1,57 @@
+package com.sasps.hotelbooking.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking confirmation number generation, single-threaded and under contention, for each
+ * {@link IdGenerator}. {@code legacy} is the former {@code "BK-" + 8 hex chars of a random UUID}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfirmationNumberBenchmark {
+
+    @Param({"legacy", "uuid", "snowflake"})
+    public String generator;
+
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        IdGenerator idGenerator = switch (generator) {
+            case "legacy" -> () -> UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+            case "uuid" -> new RandomUuidIdGenerator();
+            case "snowflake" -> new SnowflakeIdGenerator(0);
+            default -> throw new IllegalArgumentException("Unknown generator: " + generator);
+        };
+        bookingService = BenchmarkFixtures.bookingService(idGenerator);
+    }
+
+    @Benchmark
+    public String generate() {
+        return bookingService.generateConfirmationNumber();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateContended() {
+        return bookingService.generateConfirmationNumber();
+    }
+}
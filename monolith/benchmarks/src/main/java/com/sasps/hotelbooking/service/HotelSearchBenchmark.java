@@ -0,0 +1,61 @@
+package com.sasps.hotelbooking.service;
+
+import com.sasps.hotelbooking.dto.HotelDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HotelService#searchHotels} matching (case-insensitive city/country equality and
+ * search-term containment) over the active hotels returned by the repository stub.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotelSearchBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int hotels;
+
+    private HotelService hotelService;
+    private HotelDto.SearchRequest byCity;
+    private HotelDto.SearchRequest bySearchTerm;
+
+    @Setup
+    public void setUp() {
+        hotelService = BenchmarkFixtures.hotelService(
+                BenchmarkFixtures.withRoomCounts(BenchmarkFixtures.hotels(hotels)));
+
+        byCity = new HotelDto.SearchRequest();
+        byCity.setCity("cluj-napoca");
+        byCity.setMinStarRating(3);
+
+        bySearchTerm = new HotelDto.SearchRequest();
+        bySearchTerm.setSearchTerm("Brasov 1");
+        bySearchTerm.setOnlyWithAvailableRooms(true);
+    }
+
+    @Benchmark
+    public List<HotelDto> searchByCity() {
+        return hotelService.searchHotels(byCity);
+    }
+
+    @Benchmark
+    public List<HotelDto> searchBySearchTerm() {
+        return hotelService.searchHotels(bySearchTerm);
+    }
+}
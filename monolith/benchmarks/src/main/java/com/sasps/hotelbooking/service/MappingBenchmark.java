@@ -0,0 +1,53 @@
+package com.sasps.hotelbooking.service;
+
+import com.sasps.hotelbooking.dto.BookingDto;
+import com.sasps.hotelbooking.dto.RoomDto;
+import com.sasps.hotelbooking.model.Booking;
+import com.sasps.hotelbooking.model.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping done for every booking and room returned by the API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private BookingService bookingService;
+    private RoomService roomService;
+    private Booking booking;
+    private Room room;
+
+    @Setup
+    public void setUp() {
+        bookingService = BenchmarkFixtures.bookingService();
+        roomService = BenchmarkFixtures.roomService(java.util.List.of());
+        room = BenchmarkFixtures.rooms(BenchmarkFixtures.hotels(1), 1).get(0);
+        booking = BenchmarkFixtures.booking(room);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingService.convertToDto(booking);
+    }
+
+    @Benchmark
+    public RoomDto roomToDto() {
+        return roomService.convertToDto(room);
+    }
+}
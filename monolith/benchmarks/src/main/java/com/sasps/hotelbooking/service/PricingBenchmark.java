@@ -0,0 +1,48 @@
+package com.sasps.hotelbooking.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking total computation ({@code pricePerNight * nights}) as done on create, batch create and update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    @Param({"1", "5", "30"})
+    public int nights;
+
+    private BigDecimal pricePerNight;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        pricePerNight = new BigDecimal("249.99");
+        checkIn = LocalDate.of(2030, 6, 1);
+        checkOut = checkIn.plusDays(nights);
+    }
+
+    @Benchmark
+    public BigDecimal totalPrice() {
+        return BookingService.calculateTotalPrice(pricePerNight, checkIn, checkOut);
+    }
+}
@@ -0,0 +1,68 @@
+package com.sasps.hotelbooking.service;
+
+import com.sasps.hotelbooking.dto.RoomDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RoomService#searchAvailableRooms} over an in-memory candidate list: occupancy and
+ * price filtering plus DTO mapping of the matches. The repository and the search cache are
+ * stubbed out, so only the stream pipeline is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rooms;
+
+    private RoomService roomService;
+    private RoomDto.SearchRequest unfiltered;
+    private RoomDto.SearchRequest filtered;
+
+    @Setup
+    public void setUp() {
+        roomService = BenchmarkFixtures.roomService(
+                BenchmarkFixtures.rooms(BenchmarkFixtures.hotels(100), rooms));
+
+        LocalDate checkIn = LocalDate.now().plusDays(7);
+        unfiltered = new RoomDto.SearchRequest();
+        unfiltered.setCheckInDate(checkIn);
+        unfiltered.setCheckOutDate(checkIn.plusDays(5));
+
+        filtered = new RoomDto.SearchRequest();
+        filtered.setCheckInDate(checkIn);
+        filtered.setCheckOutDate(checkIn.plusDays(5));
+        filtered.setMinOccupancy(2);
+        filtered.setMinPrice(new BigDecimal("100.00"));
+        filtered.setMaxPrice(new BigDecimal("300.00"));
+    }
+
+    @Benchmark
+    public List<RoomDto> searchWithoutFilters() {
+        return roomService.searchAvailableRooms(unfiltered);
+    }
+
+    @Benchmark
+    public List<RoomDto> searchWithOccupancyAndPriceFilters() {
+        return roomService.searchAvailableRooms(filtered);
+    }
+}
@@ -0,0 +1,40 @@
+package com.sasps.hotelbooking.repository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One repository query method together with arguments to run it with. A case may accept a
+ * sequential scan of a table (for queries that return most of it by design), carry its own
+ * cost budget instead of the global one, or cap the number of partitions its plan may visit.
+ * Cases of modifying queries are marked as writing and run in a transaction that is rolled back.
+ */
+record PlanCase(Class<?> repository, String method, Runnable query, Set<String> seqScansAllowed,
+                Double costBudget, Integer partitionBudget, boolean writes) {
+
+    static PlanCase of(Class<?> repository, String method, Runnable query) {
+        return new PlanCase(repository, method, query, Set.of(), null, null, false);
+    }
+
+    static PlanCase writing(Class<?> repository, String method, Runnable query) {
+        return new PlanCase(repository, method, query, Set.of(), null, null, true);
+    }
+
+    PlanCase allowingSeqScan(String table) {
+        Set<String> tables = new HashSet<>(seqScansAllowed);
+        tables.add(table);
+        return new PlanCase(repository, method, query, Set.copyOf(tables), costBudget, partitionBudget, writes);
+    }
+
+    PlanCase withCostBudget(double budget) {
+        return new PlanCase(repository, method, query, seqScansAllowed, budget, partitionBudget, writes);
+    }
+
+    PlanCase withPartitionBudget(int partitions) {
+        return new PlanCase(repository, method, query, seqScansAllowed, costBudget, partitions, writes);
+    }
+
+    String name() {
+        return repository.getSimpleName() + "." + method;
+    }
+}
@@ -0,0 +1,200 @@
+package com.sasps.hotelbooking.repository;
+
+import com.sasps.hotelbooking.model.Room;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The query methods checked by {@link QueryPlanCheck}. Every method declared on the five
+ * repositories must have a case here; {@link #uncovered} reports the ones that do not, so a new
+ * query cannot skip the check.
+ */
+final class PlanCases {
+
+    static final List<Class<?>> REPOSITORIES = List.of(
+            BookingRepository.class, RoomRepository.class, HotelRepository.class, PaymentRepository.class,
+            RoomNightRepository.class);
+
+    private static final Limit PAGE = Limit.of(20);
+
+    private PlanCases() {
+    }
+
+    static List<PlanCase> all(BookingRepository bookings, RoomRepository rooms, HotelRepository hotels,
+                              PaymentRepository payments, RoomNightRepository roomNights, PlanFixture f) {
+        List<PlanCase> cases = new ArrayList<>();
+        Class<?> b = BookingRepository.class;
+        cases.add(PlanCase.of(b, "findByConfirmationNumber",
+                () -> bookings.findByConfirmationNumber(f.confirmationNumber())));
+        cases.add(PlanCase.of(b, "findByUserIdOrderByCreatedAtDesc",
+                () -> bookings.findByUserIdOrderByCreatedAtDesc(f.userId())));
+        cases.add(PlanCase.of(b, "findByRoomIdOrderByCheckInDateAsc",
+                () -> bookings.findByRoomIdOrderByCheckInDateAsc(f.roomId())));
+        cases.add(PlanCase.of(b, "findActiveBookingsByUserId",
+                () -> bookings.findActiveBookingsByUserId(f.userId())));
+        // Every future booking, about a tenth of the table
+        cases.add(PlanCase.of(b, "findUpcomingBookings",
+                () -> bookings.findUpcomingBookings(f.today()))
+                .withCostBudget(20_000));
+        cases.add(PlanCase.of(b, "findBookingsForCheckInToday",
+                () -> bookings.findBookingsForCheckInToday(f.today()))
+                .withPartitionBudget(1));
+        cases.add(PlanCase.of(b, "findBookingsForCheckOutToday",
+                () -> bookings.findBookingsForCheckOutToday(f.today()))
+                .withPartitionBudget(2));
+        cases.add(PlanCase.of(b, "findOverlappingBookings",
+                () -> bookings.findOverlappingBookings(f.roomId(), f.checkIn(), f.checkOut()))
+                .withPartitionBudget(3));
+        cases.add(PlanCase.of(b, "isRoomAvailable",
+                () -> bookings.isRoomAvailable(f.roomId(), f.checkIn(), f.checkOut()))
+                .withPartitionBudget(3));
+        // Every active stay from today on: whole future partitions
+        cases.add(PlanCase.of(b, "findActiveBookingIntervals",
+                () -> bookings.findActiveBookingIntervals(f.today()))
+                .allowingSeqScan("bookings")
+                .withCostBudget(17_500));
+        cases.add(PlanCase.of(b, "findActiveBookingIntervalsForRooms",
+                () -> bookings.findActiveBookingIntervalsForRooms(f.hotelRoomIds(), f.checkIn(), f.checkOut()))
+                .withPartitionBudget(3));
+        cases.add(PlanCase.of(b, "findDtosAfterId",
+                () -> bookings.findDtosAfterId(f.bookingId(), PAGE)));
+        cases.add(PlanCase.of(b, "findDtoById",
+                () -> bookings.findDtoById(f.bookingId())));
+        cases.add(PlanCase.of(b, "findDtoByConfirmationNumber",
+                () -> bookings.findDtoByConfirmationNumber(f.confirmationNumber())));
+        cases.add(PlanCase.of(b, "findDtosByUserId",
+                () -> bookings.findDtosByUserId(f.userId())));
+        cases.add(PlanCase.of(b, "findActiveDtosByUserId",
+                () -> bookings.findActiveDtosByUserId(f.userId())));
+        cases.add(PlanCase.of(b, "findDtosByRoomId",
+                () -> bookings.findDtosByRoomId(f.roomId())));
+        // Joins every future booking to its user and room, so hash joins over both tables win
+        cases.add(PlanCase.of(b, "findUpcomingDtos",
+                () -> bookings.findUpcomingDtos(f.today()))
+                .allowingSeqScan("bookings")
+                .allowingSeqScan("users")
+                .allowingSeqScan("rooms")
+                .withCostBudget(40_000));
+        cases.add(PlanCase.of(b, "findDtosForCheckInToday",
+                () -> bookings.findDtosForCheckInToday(f.today()))
+                .withPartitionBudget(1));
+        cases.add(PlanCase.of(b, "findDtosForCheckOutToday",
+                () -> bookings.findDtosForCheckOutToday(f.today()))
+                .withPartitionBudget(2));
+
+        Class<?> r = RoomRepository.class;
+        cases.add(PlanCase.of(r, "findByRoomNumberAndHotelId",
+                () -> rooms.findByRoomNumberAndHotelId(f.roomNumber(), f.hotelId())));
+        cases.add(PlanCase.of(r, "existsByRoomNumberAndHotelId",
+                () -> rooms.existsByRoomNumberAndHotelId(f.roomNumber(), f.hotelId())));
+        cases.add(PlanCase.of(r, "findByHotelId",
+                () -> rooms.findByHotelId(f.hotelId())));
+        // Unpaged catalogue filters: the cost grows with the share of rooms they return
+        cases.add(PlanCase.of(r, "findByRoomType",
+                () -> rooms.findByRoomType(Room.RoomType.PRESIDENTIAL))
+                .withCostBudget(2_500));
+        cases.add(PlanCase.of(r, "findByStatus",
+                () -> rooms.findByStatus(Room.RoomStatus.MAINTENANCE))
+                .withCostBudget(2_500));
+        cases.add(PlanCase.of(r, "findByStatusAndIdGreaterThanOrderByIdAsc",
+                () -> rooms.findByStatusAndIdGreaterThanOrderByIdAsc(Room.RoomStatus.AVAILABLE, f.roomId(), PAGE)));
+        cases.add(PlanCase.of(r, "findByRoomTypeAndIdGreaterThanOrderByIdAsc",
+                () -> rooms.findByRoomTypeAndIdGreaterThanOrderByIdAsc(Room.RoomType.SUITE, f.roomId(), PAGE)));
+        cases.add(PlanCase.of(r, "findByHotelIdAndStatus",
+                () -> rooms.findByHotelIdAndStatus(f.hotelId(), Room.RoomStatus.AVAILABLE)));
+        cases.add(PlanCase.of(r, "findByRoomTypeAndStatus",
+                () -> rooms.findByRoomTypeAndStatus(Room.RoomType.PRESIDENTIAL, Room.RoomStatus.MAINTENANCE))
+                .withCostBudget(2_500));
+        // Most rooms are available on any given date
+        cases.add(PlanCase.of(r, "findAvailableRoomsForDates",
+                () -> rooms.findAvailableRoomsForDates(f.checkIn(), f.checkOut()))
+                .allowingSeqScan("rooms")
+                .withCostBudget(5_000)
+                .withPartitionBudget(3));
+        cases.add(PlanCase.of(r, "findAvailableRoomsForHotelAndDates",
+                () -> rooms.findAvailableRoomsForHotelAndDates(f.hotelId(), f.checkIn(), f.checkOut()))
+                .withPartitionBudget(3));
+        cases.add(PlanCase.of(r, "findAvailableRoomsByTypeForDates",
+                () -> rooms.findAvailableRoomsByTypeForDates(Room.RoomType.PRESIDENTIAL, f.checkIn(), f.checkOut()))
+                .withCostBudget(5_000)
+                .withPartitionBudget(3));
+        cases.add(PlanCase.of(r, "countByStatus",
+                () -> rooms.countByStatus(Room.RoomStatus.MAINTENANCE)));
+
+        Class<?> h = HotelRepository.class;
+        cases.add(PlanCase.of(h, "findByName",
+                () -> hotels.findByName(f.hotelName())));
+        cases.add(PlanCase.of(h, "findByCity",
+                () -> hotels.findByCity(f.city())));
+        cases.add(PlanCase.of(h, "findByCountry",
+                () -> hotels.findByCountry(f.country())));
+        cases.add(PlanCase.of(h, "findByActiveTrue",
+                hotels::findByActiveTrue));
+        cases.add(PlanCase.of(h, "findWithRoomCountsAfterId",
+                () -> hotels.findWithRoomCountsAfterId(f.hotelId(), PAGE)));
+        cases.add(PlanCase.of(h, "findActiveWithRoomCountsAfterId",
+                () -> hotels.findActiveWithRoomCountsAfterId(f.hotelId(), PAGE)));
+        cases.add(PlanCase.of(h, "findWithRoomCountsById",
+                () -> hotels.findWithRoomCountsById(f.hotelId())));
+        cases.add(PlanCase.of(h, "findWithRoomCountsByCity",
+                () -> hotels.findWithRoomCountsByCity(f.city())));
+        // A country, or the whole active catalogue, aggregates a large share of all rooms
+        cases.add(PlanCase.of(h, "findWithRoomCountsByCountry",
+                () -> hotels.findWithRoomCountsByCountry(f.country()))
+                .allowingSeqScan("rooms")
+                .withCostBudget(5_000));
+        cases.add(PlanCase.of(h, "findActiveWithRoomCounts",
+                hotels::findActiveWithRoomCounts)
+                .allowingSeqScan("rooms")
+                .withCostBudget(5_000));
+        cases.add(PlanCase.of(h, "findHotelsWithAvailableRooms",
+                hotels::findHotelsWithAvailableRooms)
+                .withCostBudget(7_500));
+
+        Class<?> p = PaymentRepository.class;
+        cases.add(PlanCase.of(p, "findByTransactionId",
+                () -> payments.findByTransactionId(f.transactionId())));
+        cases.add(PlanCase.of(p, "findByBookingId",
+                () -> payments.findByBookingId(f.bookingId())));
+
+        Class<?> n = RoomNightRepository.class;
+        // Past the seeded stays, so the nights are free
+        cases.add(PlanCase.writing(n, "holdNights",
+                () -> roomNights.holdNights(f.roomId(), f.bookingId(), f.today().plusYears(2),
+                        f.today().plusYears(2).plusDays(3))));
+        cases.add(PlanCase.writing(n, "releaseNights",
+                () -> roomNights.releaseNights(f.bookingId())));
+        cases.add(PlanCase.writing(n, "releaseNightsFrom",
+                () -> roomNights.releaseNightsFrom(f.bookingId(), f.today())));
+        cases.add(PlanCase.of(n, "findRoomCalendar",
+                () -> roomNights.findRoomCalendar(f.roomId(), f.today(), f.today().plusDays(90))));
+        cases.add(PlanCase.of(n, "findHotelOccupancy",
+                () -> roomNights.findHotelOccupancy(f.hotelId(), f.today(), f.today().plusDays(30))));
+        return cases;
+    }
+
+    /**
+     * Names of repository query methods without a case, and of cases naming no such method.
+     */
+    static List<String> uncovered(List<PlanCase> cases) {
+        Set<String> covered = cases.stream().map(PlanCase::name).collect(Collectors.toSet());
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isDefault() && !method.isSynthetic())
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toSet());
+        List<String> problems = new ArrayList<>();
+        declared.stream().filter(name -> !covered.contains(name)).sorted()
+                .forEach(name -> problems.add(name + ": no plan case"));
+        covered.stream().filter(name -> !declared.contains(name)).sorted()
+                .forEach(name -> problems.add(name + ": no such repository method"));
+        return problems;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sasps.hotelbooking.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Seeds the plan-check database with a production-shaped data set: {@code query-plans.bookings}
+ * bookings spread over the last four years and the next six months, one room per ten bookings,
+ * fifty rooms per hotel and one user per ten bookings. Bookings of a room never overlap, so the
+ * exclusion constraint holds, and most of them are in the past, as in a live system. Their nights
+ * are then filled into {@code room_nights}. Seeding is skipped when the seeded hotels already exist.
+ */
+class PlanDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanDataSeeder.class);
+
+    static final String HOTEL_PREFIX = "Plan Hotel ";
+    private static final int ROOMS_PER_HOTEL = 50;
+    private static final int BOOKINGS_PER_ROOM = 10;
+    private static final int HISTORY_DAYS = 4 * 365;
+    private static final int FUTURE_DAYS = 182;
+    private static final String PASSWORD_HASH = "$2a$10$BI7Y4z1di7P9TBW7cFrPOOVDc9x3xAysztMflbbgqV6e7iS/GGxm.";
+
+    private static final List<String> ROOM_TYPES = List.of("SINGLE", "DOUBLE", "TWIN", "SUITE", "DELUXE", "PRESIDENTIAL");
+
+    private final JdbcTemplate jdbc;
+    private final int bookings;
+
+    PlanDataSeeder(JdbcTemplate jdbc, @Value("${query-plans.bookings:1000000}") int bookings) {
+        this.jdbc = jdbc;
+        this.bookings = bookings;
+    }
+
+    void seedIfNeeded() {
+        if (hotelId(1) != null) {
+            log.info("Seeded data already present, skipping seeding");
+        } else {
+            seed();
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    private void seed() {
+        int hotels = Math.max(1, bookings / (BOOKINGS_PER_ROOM * ROOMS_PER_HOTEL));
+        int rooms = hotels * ROOMS_PER_HOTEL;
+        int users = Math.max(1, rooms * BOOKINGS_PER_ROOM / 10);
+        int stride = Math.max(5, (HISTORY_DAYS + FUTURE_DAYS) / BOOKINGS_PER_ROOM);
+        long started = System.nanoTime();
+
+        jdbc.update("INSERT INTO hotels (name, description, address, city, country, star_rating, active, created_at) " +
+                "SELECT ? || g, 'Seeded for query plan checks', 'Strada Principala ' || g, " +
+                "'City ' || g % 500, 'Country ' || g % 40, 1 + g % 5, g % 10 <> 0, now() - g * interval '1 hour' " +
+                "FROM generate_series(1, ?) g", HOTEL_PREFIX, hotels);
+        Long firstHotelId = hotelId(1);
+
+        jdbc.update("INSERT INTO rooms (hotel_id, room_number, room_type, price_per_night, max_occupancy, " +
+                "floor_number, status, created_at) " +
+                "SELECT h.id, (100 + n)::text, (?::text[])[1 + ((h.id + n) % 6)::int], 50 + (h.id * 7 + n * 13) % 450, " +
+                "1 + n % 6, n / 10, " +
+                "CASE WHEN n % 25 = 0 THEN 'MAINTENANCE' WHEN n % 7 = 0 THEN 'OCCUPIED' ELSE 'AVAILABLE' END, now() " +
+                "FROM hotels h CROSS JOIN generate_series(1, ?) n WHERE h.id >= ?",
+                "{" + String.join(",", ROOM_TYPES) + "}", ROOMS_PER_HOTEL, firstHotelId);
+
+        jdbc.update("INSERT INTO users (username, email, password, first_name, last_name, role, enabled, " +
+                "email_verified, created_at) " +
+                "SELECT 'plan.user.' || g, 'plan.user.' || g || '@example.com', ?, 'Plan', 'User ' || g, " +
+                "'CUSTOMER', true, true, now() - g * interval '1 minute' " +
+                "FROM generate_series(1, ?) g", PASSWORD_HASH, users);
+
+        jdbc.update("INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, number_of_guests, " +
+                "total_price, status, confirmation_number, payment_status, payment_method, paid_amount, " +
+                "cancelled_at, created_at) " +
+                "SELECT u.first_id + (r.id * 7919 + k * 104729) % u.total, r.id, d.check_in, d.check_in + d.nights, " +
+                "1 + k % r.max_occupancy, r.price_per_night * d.nights, s.status, 'PL-' || r.id || '-' || k, " +
+                "CASE s.status WHEN 'PENDING' THEN 'PENDING' WHEN 'CANCELLED' THEN 'REFUNDED' ELSE 'PAID' END, " +
+                "CASE WHEN s.status <> 'PENDING' THEN 'CREDIT_CARD' END, " +
+                "CASE WHEN s.status <> 'PENDING' THEN r.price_per_night * d.nights END, " +
+                "CASE WHEN s.status = 'CANCELLED' THEN d.check_in - 3 END, " +
+                "d.check_in - (1 + (r.id + k) % 90) * interval '1 day' " +
+                "FROM (SELECT min(id) AS first_id, count(*) AS total FROM users " +
+                "      WHERE username LIKE 'plan.user.%') u " +
+                "CROSS JOIN rooms r " +
+                "CROSS JOIN generate_series(0, ? - 1) k " +
+                "CROSS JOIN LATERAL (SELECT ?::date + k * ? + (r.id % 3)::int AS check_in, " +
+                "                           1 + ((r.id + k) % 4)::int AS nights) d " +
+                "CROSS JOIN LATERAL (SELECT CASE " +
+                "    WHEN d.check_in + d.nights <= current_date THEN " +
+                "         CASE WHEN (r.id + k) % 10 = 0 THEN 'CANCELLED' ELSE 'CHECKED_OUT' END " +
+                "    WHEN d.check_in <= current_date THEN 'CHECKED_IN' " +
+                "    WHEN (r.id + k) % 20 = 0 THEN 'CANCELLED' " +
+                "    WHEN (r.id + k) % 7 = 0 THEN 'PENDING' " +
+                "    ELSE 'CONFIRMED' END AS status) s " +
+                "WHERE r.hotel_id >= ?",
+                BOOKINGS_PER_ROOM, LocalDate.now().minusDays(HISTORY_DAYS), stride, firstHotelId);
+
+        jdbc.update("INSERT INTO payments (booking_id, amount, status, payment_method, transaction_id, " +
+                "payment_gateway, payment_date, created_at) " +
+                "SELECT id, paid_amount, CASE WHEN status = 'CANCELLED' THEN 'REFUNDED' ELSE 'COMPLETED' END, " +
+                "'CREDIT_CARD', 'PLT-' || id, 'Stripe', created_at, created_at " +
+                "FROM bookings WHERE confirmation_number LIKE 'PL-%' AND payment_status <> 'PENDING'");
+
+        jdbc.queryForList("SELECT added FROM backfill_room_nights()");
+
+        log.info("Seeded {} hotels, {} rooms, {} users and {} bookings in {} s", hotels, rooms, users,
+                rooms * BOOKINGS_PER_ROOM, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    /**
+     * Picks ids and keys from the middle of the seeded data, so every lookup hits real rows.
+     */
+    PlanFixture fixture() {
+        int hotels = jdbc.queryForObject("SELECT count(*) FROM hotels WHERE name LIKE ? || '%'", Integer.class,
+                HOTEL_PREFIX);
+        long hotelId = hotelId(Math.max(1, hotels / 2));
+        return jdbc.queryForObject(
+                "SELECT h.id AS hotel_id, h.name, h.city, h.country, r.id AS room_id, r.room_number, " +
+                "       b.id AS booking_id, b.user_id, b.confirmation_number, p.transaction_id " +
+                "FROM hotels h " +
+                "JOIN rooms r ON r.hotel_id = h.id " +
+                "JOIN bookings b ON b.room_id = r.id " +
+                "JOIN payments p ON p.booking_id = b.id " +
+                "WHERE h.id = ? ORDER BY r.id, b.check_in_date LIMIT 1",
+                (rs, i) -> new PlanFixture(
+                        rs.getLong("hotel_id"), rs.getString("name"), rs.getString("city"), rs.getString("country"),
+                        rs.getLong("room_id"), rs.getString("room_number"),
+                        jdbc.queryForList("SELECT id FROM rooms WHERE hotel_id = ?", Long.class, hotelId),
+                        rs.getLong("user_id"), rs.getLong("booking_id"), rs.getString("confirmation_number"),
+                        rs.getString("transaction_id"), LocalDate.now()),
+                hotelId);
+    }
+
+    private Long hotelId(int number) {
+        List<Long> ids = jdbc.queryForList("SELECT id FROM hotels WHERE name = ?", Long.class, HOTEL_PREFIX + number);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
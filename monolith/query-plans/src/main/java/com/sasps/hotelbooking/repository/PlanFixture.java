@@ -0,0 +1,21 @@
+package com.sasps.hotelbooking.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Arguments for the plan-check queries, taken from the seeded data.
+ */
+record PlanFixture(long hotelId, String hotelName, String city, String country,
+                   long roomId, String roomNumber, List<Long> hotelRoomIds,
+                   long userId, long bookingId, String confirmationNumber, String transactionId,
+                   LocalDate today) {
+
+    LocalDate checkIn() {
+        return today.plusDays(30);
+    }
+
+    LocalDate checkOut() {
+        return today.plusDays(33);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sasps.hotelbooking.repository;
+
+import com.sasps.hotelbooking.model.Booking;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Entry point of {@code query-plans.jar}. Migrates and seeds the configured database, runs every
+ * query declared on the booking, room, hotel, payment and room-night repositories through Hibernate,
+ * and replays each statement it executed under {@code EXPLAIN (ANALYZE, FORMAT JSON)}. Exits with
+ * status 1 when a plan reads a large table with a sequential scan or its cost exceeds the budget.
+ * <p>
+ * Only the repositories and entities are loaded (no services, security or web layer), configured
+ * from {@code query-plans.properties}; any property can be overridden on the command line.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = Booking.class)
+@Import({StatementRecorder.class, PlanDataSeeder.class, QueryPlanRunner.class})
+public class QueryPlanCheck {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(QueryPlanCheck.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of("spring.config.name", "query-plans"));
+        ConfigurableApplicationContext context = application.run(args);
+        int exitCode = context.getBean(QueryPlanRunner.class).run();
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    @Bean
+    static BeanPostProcessor recordingDataSource(ObjectProvider<StatementRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(recorder.getObject())
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.sasps.hotelbooking.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasps.hotelbooking.repository.StatementRecorder.RecordedStatement;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs each {@link PlanCase} in a read-only transaction (a rolled-back one for writing cases), then
+ * replays every statement it executed under {@code EXPLAIN (ANALYZE, FORMAT JSON)} with the same bind
+ * parameters, again rolled back. A plan fails when it
+ * contains a sequential scan of a table with at least {@code query-plans.large-table-rows} rows that
+ * the case does not accept, when its total cost is above the case's (or the global) budget, or when it
+ * visits more partitions than the case allows. Partitions count as their parent table when a case
+ * accepts a sequential scan, and are checked against the row threshold one by one.
+ */
+class QueryPlanRunner {
+
+    private final PlanDataSeeder seeder;
+    private final StatementRecorder recorder;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate rolledBack;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final HotelRepository hotelRepository;
+    private final PaymentRepository paymentRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final long largeTableRows;
+    private final double costBudget;
+
+    QueryPlanRunner(PlanDataSeeder seeder, StatementRecorder recorder, JdbcTemplate jdbc,
+                    PlatformTransactionManager transactionManager,
+                    BookingRepository bookingRepository, RoomRepository roomRepository,
+                    HotelRepository hotelRepository, PaymentRepository paymentRepository,
+                    RoomNightRepository roomNightRepository,
+                    @Value("${query-plans.large-table-rows:10000}") long largeTableRows,
+                    @Value("${query-plans.cost-budget:1000}") double costBudget) {
+        this.seeder = seeder;
+        this.recorder = recorder;
+        this.jdbc = jdbc;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.rolledBack = new TransactionTemplate(transactionManager);
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.hotelRepository = hotelRepository;
+        this.paymentRepository = paymentRepository;
+        this.roomNightRepository = roomNightRepository;
+        this.largeTableRows = largeTableRows;
+        this.costBudget = costBudget;
+    }
+
+    int run() {
+        seeder.seedIfNeeded();
+        PlanFixture fixture = seeder.fixture();
+        Set<String> largeTables = Set.copyOf(jdbc.queryForList(
+                "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = current_schema() AND c.relkind = 'r' AND c.reltuples >= ?",
+                String.class, largeTableRows));
+        Map<String, String> partitionParents = new LinkedHashMap<>();
+        jdbc.query("SELECT c.relname, p.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                "WHERE n.nspname = current_schema() AND c.relispartition",
+                rs -> {
+                    partitionParents.put(rs.getString(1), rs.getString(2));
+                });
+        System.out.printf("Large tables (>= %d rows): %s%n%n", largeTableRows, largeTables.stream().sorted().toList());
+
+        List<PlanCase> cases = PlanCases.all(bookingRepository, roomRepository, hotelRepository,
+                paymentRepository, roomNightRepository, fixture);
+        List<String> failures = new ArrayList<>(PlanCases.uncovered(cases));
+        for (PlanCase planCase : cases) {
+            failures.addAll(check(planCase, largeTables, partitionParents));
+        }
+
+        System.out.println();
+        if (failures.isEmpty()) {
+            System.out.printf("All %d repository queries passed%n", cases.size());
+            return 0;
+        }
+        System.out.printf("%d problem(s):%n", failures.size());
+        failures.forEach(failure -> System.out.println("  " + failure));
+        return 1;
+    }
+
+    private List<String> check(PlanCase planCase, Set<String> largeTables, Map<String, String> partitionParents) {
+        List<RecordedStatement> recorded;
+        recorder.start();
+        try {
+            if (planCase.writes()) {
+                rolledBack.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    planCase.query().run();
+                });
+            } else {
+                readOnly.executeWithoutResult(status -> planCase.query().run());
+            }
+        } finally {
+            recorded = recorder.stop();
+        }
+        List<RecordedStatement> statements = distinct(recorded);
+        if (statements.isEmpty()) {
+            return List.of(planCase.name() + ": executed no SQL");
+        }
+
+        double budget = planCase.costBudget() != null ? planCase.costBudget() : costBudget;
+        List<String> failures = new ArrayList<>();
+        for (RecordedStatement statement : statements) {
+            JsonNode plan = explain(statement);
+            JsonNode root = plan.path("Plan");
+            double cost = root.path("Total Cost").asDouble();
+            List<String> seqScans = new ArrayList<>();
+            List<String> scanned = new ArrayList<>();
+            collectScans(root, seqScans, scanned);
+            long partitions = scanned.stream().filter(partitionParents::containsKey).distinct().count();
+
+            List<String> problems = new ArrayList<>();
+            seqScans.stream()
+                    .filter(largeTables::contains)
+                    .filter(table -> !planCase.seqScansAllowed().contains(partitionParents.getOrDefault(table, table)))
+                    .distinct()
+                    .forEach(table -> problems.add("Seq Scan on " + table));
+            if (cost > budget) {
+                problems.add(String.format("cost %.0f > budget %.0f", cost, budget));
+            }
+            if (planCase.partitionBudget() != null && partitions > planCase.partitionBudget()) {
+                problems.add(String.format("%d partitions > budget %d", partitions, planCase.partitionBudget()));
+            }
+
+            List<String> largeSeqScans = seqScans.stream().filter(largeTables::contains).distinct().toList();
+            System.out.printf("%-4s %-60s cost=%10.1f time=%9.3f ms%s%s%n",
+                    problems.isEmpty() ? "OK" : "FAIL", planCase.name(), cost,
+                    plan.path("Execution Time").asDouble(),
+                    partitions == 0 ? "" : "  partitions: " + partitions,
+                    largeSeqScans.isEmpty() ? "" : "  seq scans: " + largeSeqScans);
+            if (!problems.isEmpty()) {
+                failures.add(planCase.name() + ": " + String.join(", ", problems) + "\n    " + statement.sql());
+            }
+        }
+        return failures;
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        // EXPLAIN ANALYZE executes the statement, so its changes are rolled back
+        return jdbc.execute((ConnectionCallback<JsonNode>) connection -> {
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, FORMAT JSON) " + statement.sql())) {
+                for (ParameterSetOperation parameter : statement.parameters()) {
+                    bind(explain, parameter);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return objectMapper.readTree(rs.getString(1)).get(0);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Unreadable plan for " + statement.sql(), e);
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement explain, ParameterSetOperation parameter) throws SQLException {
+        try {
+            parameter.getMethod().invoke(explain, parameter.getArgs());
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void collectScans(JsonNode node, List<String> seqScans, List<String> scanned) {
+        if (node.has("Relation Name")) {
+            scanned.add(node.path("Relation Name").asText());
+            if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                seqScans.add(node.path("Relation Name").asText());
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, seqScans, scanned);
+        }
+    }
+
+    private static List<RecordedStatement> distinct(List<RecordedStatement> statements) {
+        Map<String, RecordedStatement> bySql = new LinkedHashMap<>();
+        statements.forEach(statement -> bySql.putIfAbsent(statement.sql(), statement));
+        return List.copyOf(bySql.values());
+    }
+}
@@ -0,0 +1,47 @@
+package com.sasps.hotelbooking.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the SQL and bind parameters of every statement executed while recording is on.
+ */
+class StatementRecorder implements QueryExecutionListener {
+
+    record RecordedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private boolean recording;
+
+    synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    synchronized List<RecordedStatement> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!recording) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            statements.add(new RecordedStatement(query.getQuery(),
+                    parameters.isEmpty() ? List.of() : List.copyOf(parameters.get(0))));
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.sasps.hotelbooking.controller;
 import com.sasps.hotelbooking.dto.AuthResponse;
 import com.sasps.hotelbooking.dto.LoginRequest;
 import com.sasps.hotelbooking.dto.RegisterRequest;
+import com.sasps.hotelbooking.exception.TooManyRequestsException;
 import com.sasps.hotelbooking.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -28,6 +30,8 @@ public class AuthController {
         try {
             AuthResponse response = userService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             e.printStackTrace(); // Add logging
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -44,12 +48,20 @@ public class AuthController {
         try {
             AuthResponse response = userService.login(request);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse(e.getMessage()));
         }
     }
     
+    private ResponseEntity<?> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
+    }
+    
     // Handle validation errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -1,6 +1,7 @@
 package com.sasps.hotelbooking.controller;
 
 import com.sasps.hotelbooking.dto.BookingDto;
+import com.sasps.hotelbooking.dto.CursorPage;
 import com.sasps.hotelbooking.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,15 +27,20 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping
-    @Operation(summary = "Get all bookings", description = "Retrieve a list of all bookings")
+    @Operation(summary = "Get all bookings",
+               description = "Retrieve a page of bookings ordered by ID; the next page cursor is returned in the X-Next-Cursor header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of bookings"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<BookingDto>> getAllBookings() {
-        log.info("GET /api/bookings - Get all bookings");
-        List<BookingDto> bookings = bookingService.getAllBookings();
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<List<BookingDto>> getAllBookings(
+            @Parameter(description = "Return bookings with an ID greater than this cursor")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of bookings to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") Integer limit) {
+        log.info("GET /api/bookings - Get all bookings (after: {}, limit: {})", after, limit);
+        CursorPage<BookingDto> bookings = bookingService.getAllBookings(after, limit);
+        return bookings.toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -127,6 +133,21 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create bookings in bulk",
+               description = "Create multiple bookings in one transaction and report the outcome of each item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or validation error")
+    })
+    public ResponseEntity<BookingDto.BatchResponse> createBookings(
+            @Parameter(description = "Batch booking creation request", required = true)
+            @Valid @RequestBody BookingDto.BatchCreateRequest request) {
+        log.info("POST /api/bookings/batch - Create {} bookings", request.getBookings().size());
+        BookingDto.BatchResponse response = bookingService.createBookings(request.getBookings());
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update booking", description = "Update an existing booking")
     @ApiResponses(value = {
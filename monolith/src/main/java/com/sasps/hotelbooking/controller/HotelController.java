@@ -1,5 +1,6 @@
 package com.sasps.hotelbooking.controller;
 
+import com.sasps.hotelbooking.dto.CursorPage;
 import com.sasps.hotelbooking.dto.HotelDto;
 import com.sasps.hotelbooking.service.HotelService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,17 +27,24 @@ public class HotelController {
     private final HotelService hotelService;
 
     @GetMapping
-    @Operation(summary = "Get all hotels", description = "Retrieve a list of all hotels")
+    @Operation(summary = "Get all hotels",
+               description = "Retrieve a page of hotels ordered by ID; the next page cursor is returned in the X-Next-Cursor header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of hotels"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<HotelDto>> getAllHotels(
             @Parameter(description = "Only active hotels")
-            @RequestParam(required = false, defaultValue = "true") Boolean activeOnly) {
-        log.info("GET /api/hotels - Get all hotels (activeOnly: {})", activeOnly);
-        List<HotelDto> hotels = activeOnly ? hotelService.getAllActiveHotels() : hotelService.getAllHotels();
-        return ResponseEntity.ok(hotels);
+            @RequestParam(required = false, defaultValue = "true") Boolean activeOnly,
+            @Parameter(description = "Return hotels with an ID greater than this cursor")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of hotels to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") Integer limit) {
+        log.info("GET /api/hotels - Get all hotels (activeOnly: {}, after: {}, limit: {})", activeOnly, after, limit);
+        CursorPage<HotelDto> hotels = activeOnly
+                ? hotelService.getAllActiveHotels(after, limit)
+                : hotelService.getAllHotels(after, limit);
+        return hotels.toResponseEntity();
     }
 
     @GetMapping("/{id}")
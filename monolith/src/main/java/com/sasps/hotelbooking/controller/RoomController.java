@@ -1,5 +1,6 @@
 package com.sasps.hotelbooking.controller;
 
+import com.sasps.hotelbooking.dto.CursorPage;
 import com.sasps.hotelbooking.dto.RoomDto;
 import com.sasps.hotelbooking.model.Room;
 import com.sasps.hotelbooking.service.RoomService;
@@ -11,10 +12,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -119,17 +122,41 @@ public class RoomController {
     }
 
     @GetMapping("/type/{roomType}")
-    @Operation(summary = "Get rooms by type", description = "Retrieve all rooms of a specific type")
+    @Operation(summary = "Get rooms by type",
+               description = "Retrieve a page of rooms of a specific type; the next page cursor is returned in the X-Next-Cursor header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved rooms"),
         @ApiResponse(responseCode = "400", description = "Invalid room type")
     })
     public ResponseEntity<List<RoomDto>> getRoomsByType(
             @Parameter(description = "Room type", required = true)
-            @PathVariable Room.RoomType roomType) {
-        log.info("GET /api/rooms/type/{} - Get rooms by type", roomType);
-        List<RoomDto> rooms = roomService.getRoomsByType(roomType);
-        return ResponseEntity.ok(rooms);
+            @PathVariable Room.RoomType roomType,
+            @Parameter(description = "Return rooms with an ID greater than this cursor")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of rooms to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") Integer limit) {
+        log.info("GET /api/rooms/type/{} - Get rooms by type (after: {}, limit: {})", roomType, after, limit);
+        CursorPage<RoomDto> rooms = roomService.getRoomsByType(roomType, after, limit);
+        return rooms.toResponseEntity();
+    }
+
+    @GetMapping("/status/{status}")
+    @Operation(summary = "Get rooms by status",
+               description = "Retrieve a page of rooms with a specific status; the next page cursor is returned in the X-Next-Cursor header")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved rooms"),
+        @ApiResponse(responseCode = "400", description = "Invalid room status")
+    })
+    public ResponseEntity<List<RoomDto>> getRoomsByStatus(
+            @Parameter(description = "Room status", required = true)
+            @PathVariable Room.RoomStatus status,
+            @Parameter(description = "Return rooms with an ID greater than this cursor")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of rooms to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") Integer limit) {
+        log.info("GET /api/rooms/status/{} - Get rooms by status (after: {}, limit: {})", status, after, limit);
+        CursorPage<RoomDto> rooms = roomService.getRoomsByStatus(status, after, limit);
+        return rooms.toResponseEntity();
     }
 
     @PostMapping("/search")
@@ -147,6 +174,46 @@ public class RoomController {
         return ResponseEntity.ok(rooms);
     }
 
+    @GetMapping("/{id}/calendar")
+    @Operation(summary = "Get room calendar",
+               description = "Retrieve the booked nights of a room between two dates (end date exclusive)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved room calendar"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "404", description = "Room not found")
+    })
+    public ResponseEntity<RoomDto.Calendar> getRoomCalendar(
+            @Parameter(description = "Room ID", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "First night (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Day after the last night (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /api/rooms/{}/calendar - Get room calendar from {} to {}", id, from, to);
+        RoomDto.Calendar calendar = roomService.getRoomCalendar(id, from, to);
+        return ResponseEntity.ok(calendar);
+    }
+
+    @GetMapping("/hotel/{hotelId}/occupancy")
+    @Operation(summary = "Get hotel occupancy",
+               description = "Retrieve the booked rooms per night of a hotel between two dates (end date exclusive)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved hotel occupancy"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<RoomDto.Occupancy> getHotelOccupancy(
+            @Parameter(description = "Hotel ID", required = true)
+            @PathVariable Long hotelId,
+            @Parameter(description = "First night (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Day after the last night (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /api/rooms/hotel/{}/occupancy - Get hotel occupancy from {} to {}", hotelId, from, to);
+        RoomDto.Occupancy occupancy = roomService.getHotelOccupancy(hotelId, from, to);
+        return ResponseEntity.ok(occupancy);
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update room status", description = "Update the status of a specific room")
     @ApiResponses(value = {
@@ -1,6 +1,7 @@
 package com.sasps.hotelbooking.dto;
 
 import com.sasps.hotelbooking.model.Booking;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +11,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -35,6 +38,19 @@ public class BookingDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Constructor used by the JPQL projections in {@code BookingRepository}.
+     */
+    public BookingDto(Long id, Long userId, String userFullName, Long roomId, String roomNumber,
+                      LocalDate checkInDate, LocalDate checkOutDate, Integer numberOfGuests,
+                      BigDecimal totalPrice, Booking.BookingStatus status, String specialRequests,
+                      String confirmationNumber, Booking.PaymentStatus paymentStatus, String paymentMethod,
+                      BigDecimal paidAmount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, userId, userFullName, roomId, roomNumber, checkInDate, checkOutDate, numberOfGuests,
+                totalPrice, status, specialRequests, confirmationNumber, paymentStatus, paymentMethod,
+                paidAmount, ChronoUnit.DAYS.between(checkInDate, checkOutDate), createdAt, updatedAt);
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -116,4 +132,35 @@ public class BookingDto {
         @NotBlank(message = "Payment method is required")
         private String paymentMethod;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchCreateRequest {
+        @NotEmpty(message = "At least one booking is required")
+        @Size(max = 500, message = "A batch must not exceed 500 bookings")
+        private List<@Valid CreateRequest> bookings;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchItemResult {
+        private int index;
+        private boolean success;
+        private BookingDto booking;
+        private String error;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchResponse {
+        private int succeeded;
+        private int failed;
+        private List<BatchItemResult> results;
+    }
 }
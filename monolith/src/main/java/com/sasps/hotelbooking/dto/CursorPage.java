@@ -0,0 +1,65 @@
+package com.sasps.hotelbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. The body of the HTTP response is the item list;
+ * the cursor for the following page, if any, is returned in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public static long startAfter(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    /**
+     * Limit to pass to the repository: one row more than the page size, so the presence
+     * of a following page is known without a count query.
+     */
+    public static Limit probeLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, Long> idExtractor, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? idExtractor.apply(pageRows.get(pageRows.size() - 1)) : null;
+        List<T> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+        }
+        return response.body(items);
+    }
+}
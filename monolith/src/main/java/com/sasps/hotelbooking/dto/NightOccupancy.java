@@ -0,0 +1,18 @@
+package com.sasps.hotelbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Rooms of a hotel held on one night, as aggregated by {@code RoomNightRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NightOccupancy {
+    private LocalDate night;
+    private long occupiedRooms;
+}
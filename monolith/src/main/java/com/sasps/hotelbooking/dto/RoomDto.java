@@ -8,7 +8,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -130,4 +132,38 @@ public class RoomDto {
         @Future(message = "Check-out date must be in the future")
         private java.time.LocalDate checkOutDate;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BookedNight {
+        private LocalDate night;
+        private Long bookingId;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Calendar {
+        private Long roomId;
+        private LocalDate from;
+        private LocalDate to;
+        private List<BookedNight> bookedNights;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Occupancy {
+        private Long hotelId;
+        private LocalDate from;
+        private LocalDate to;
+        private long totalRooms;
+        private long occupiedRoomNights;
+        private double occupancyRate;
+        private List<NightOccupancy> nights;
+    }
 }
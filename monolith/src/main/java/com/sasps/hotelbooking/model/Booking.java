@@ -22,8 +22,12 @@ import java.time.LocalDateTime;
 @Builder
 public class Booking {
 
+    /** Longest stay accepted, also enforced by chk_bookings_stay_length. */
+    public static final int MAX_NIGHTS = 30;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,43 @@
+package com.sasps.hotelbooking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A night of a room held by a booking; the stay {@code [checkIn, checkOut)} holds one row per night.
+ * Rows are written by {@code BookingService} alongside the booking, never edited on their own.
+ */
+@Entity
+@Table(name = "room_nights")
+@IdClass(RoomNight.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomNight {
+
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    @Column(name = "night")
+    private LocalDate night;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long roomId;
+        private LocalDate night;
+    }
+}
@@ -1,6 +1,8 @@
 package com.sasps.hotelbooking.repository;
 
+import com.sasps.hotelbooking.dto.BookingDto;
 import com.sasps.hotelbooking.model.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,12 +10,23 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    String DTO_SELECT = "SELECT new com.sasps.hotelbooking.dto.BookingDto(" +
+           "b.id, u.id, CONCAT(u.firstName, ' ', u.lastName), r.id, r.roomNumber, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfGuests, b.totalPrice, b.status, b.specialRequests, " +
+           "b.confirmationNumber, b.paymentStatus, b.paymentMethod, b.paidAmount, b.createdAt, b.updatedAt) " +
+           "FROM Booking b JOIN b.user u JOIN b.room r ";
+
+    // bookings is partitioned by check-in month. No stay is longer than this, so the queries below add
+    // the matching lower bound on checkInDate and PostgreSQL skips the partitions of earlier months.
+    String MAX_STAY = Booking.MAX_NIGHTS + " day";
+
     Optional<Booking> findByConfirmationNumber(String confirmationNumber);
 
     List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
@@ -36,21 +49,73 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findBookingsForCheckInToday(@Param("date") LocalDate date);
 
     @Query("SELECT b FROM Booking b WHERE b.checkOutDate = :date AND " +
+           "b.checkInDate >= cast(:date as LocalDate) - " + MAX_STAY + " AND b.checkInDate < :date AND " +
            "b.status = 'CHECKED_IN' " +
            "ORDER BY b.createdAt ASC")
     List<Booking> findBookingsForCheckOutToday(@Param("date") LocalDate date);
 
     @Query("SELECT b FROM Booking b WHERE b.room.id = :roomId AND " +
            "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND " +
-           "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn))")
+           "b.checkInDate < :checkOut AND b.checkOutDate > :checkIn AND " +
+           "b.checkInDate > cast(:checkIn as LocalDate) - " + MAX_STAY)
     List<Booking> findOverlappingBookings(@Param("roomId") Long roomId,
                                           @Param("checkIn") LocalDate checkIn,
                                           @Param("checkOut") LocalDate checkOut);
 
     @Query("SELECT COUNT(b) = 0 FROM Booking b WHERE b.room.id = :roomId AND " +
            "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND " +
-           "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn))")
+           "b.checkInDate < :checkOut AND b.checkOutDate > :checkIn AND " +
+           "b.checkInDate > cast(:checkIn as LocalDate) - " + MAX_STAY)
     boolean isRoomAvailable(@Param("roomId") Long roomId,
                            @Param("checkIn") LocalDate checkIn,
                            @Param("checkOut") LocalDate checkOut);
+
+    @Query("SELECT b.id, b.room.id, b.checkInDate, b.checkOutDate FROM Booking b WHERE " +
+           "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND b.checkOutDate >= :fromDate AND " +
+           "b.checkInDate >= cast(:fromDate as LocalDate) - " + MAX_STAY)
+    List<Object[]> findActiveBookingIntervals(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b WHERE b.room.id IN :roomIds AND " +
+           "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND " +
+           "b.checkInDate < :toDate AND b.checkOutDate > :fromDate AND " +
+           "b.checkInDate > cast(:fromDate as LocalDate) - " + MAX_STAY)
+    List<Object[]> findActiveBookingIntervalsForRooms(@Param("roomIds") Collection<Long> roomIds,
+                                                      @Param("fromDate") LocalDate fromDate,
+                                                      @Param("toDate") LocalDate toDate);
+
+    @Query(DTO_SELECT + "WHERE b.id > :after ORDER BY b.id ASC")
+    List<BookingDto> findDtosAfterId(@Param("after") Long after, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE b.id = :id")
+    Optional<BookingDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE b.confirmationNumber = :confirmationNumber")
+    Optional<BookingDto> findDtoByConfirmationNumber(@Param("confirmationNumber") String confirmationNumber);
+
+    @Query(DTO_SELECT + "WHERE u.id = :userId ORDER BY b.createdAt DESC")
+    List<BookingDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(DTO_SELECT + "WHERE u.id = :userId AND " +
+           "b.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN') " +
+           "ORDER BY b.checkInDate ASC")
+    List<BookingDto> findActiveDtosByUserId(@Param("userId") Long userId);
+
+    @Query(DTO_SELECT + "WHERE r.id = :roomId ORDER BY b.checkInDate ASC")
+    List<BookingDto> findDtosByRoomId(@Param("roomId") Long roomId);
+
+    @Query(DTO_SELECT + "WHERE b.checkInDate > :currentDate AND " +
+           "b.status IN ('PENDING', 'CONFIRMED') " +
+           "ORDER BY b.checkInDate ASC")
+    List<BookingDto> findUpcomingDtos(@Param("currentDate") LocalDate currentDate);
+
+    @Query(DTO_SELECT + "WHERE b.checkInDate = :date AND " +
+           "b.status = 'CONFIRMED' " +
+           "ORDER BY b.createdAt ASC")
+    List<BookingDto> findDtosForCheckInToday(@Param("date") LocalDate date);
+
+    @Query(DTO_SELECT + "WHERE b.checkOutDate = :date AND " +
+           "b.checkInDate >= cast(:date as LocalDate) - " + MAX_STAY + " AND b.checkInDate < :date AND " +
+           "b.status = 'CHECKED_IN' " +
+           "ORDER BY b.createdAt ASC")
+    List<BookingDto> findDtosForCheckOutToday(@Param("date") LocalDate date);
 }
@@ -1,8 +1,13 @@
 package com.sasps.hotelbooking.repository;
 
+import com.sasps.hotelbooking.dto.HotelWithRoomCounts;
 import com.sasps.hotelbooking.model.Hotel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,14 +17,43 @@ import java.util.Optional;
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
+    String WITH_ROOM_COUNTS = "SELECT new com.sasps.hotelbooking.dto.HotelWithRoomCounts(h, COUNT(r), " +
+           "COALESCE(SUM(CASE WHEN r.status = 'AVAILABLE' THEN 1 ELSE 0 END), 0)) " +
+           "FROM Hotel h LEFT JOIN h.rooms r ";
+
     Optional<Hotel> findByName(String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Hotel> findByCity(String city);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Hotel> findByCountry(String country);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Hotel> findByActiveTrue();
 
+    @Query(WITH_ROOM_COUNTS + "WHERE h.id > :after GROUP BY h ORDER BY h.id ASC")
+    List<HotelWithRoomCounts> findWithRoomCountsAfterId(@Param("after") Long after, Limit limit);
+
+    @Query(WITH_ROOM_COUNTS + "WHERE h.active = true AND h.id > :after GROUP BY h ORDER BY h.id ASC")
+    List<HotelWithRoomCounts> findActiveWithRoomCountsAfterId(@Param("after") Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.id = :id GROUP BY h")
+    Optional<HotelWithRoomCounts> findWithRoomCountsById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.city = :city GROUP BY h")
+    List<HotelWithRoomCounts> findWithRoomCountsByCity(@Param("city") String city);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.country = :country GROUP BY h")
+    List<HotelWithRoomCounts> findWithRoomCountsByCountry(@Param("country") String country);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(WITH_ROOM_COUNTS + "WHERE h.active = true GROUP BY h")
+    List<HotelWithRoomCounts> findActiveWithRoomCounts();
+
     @Query("SELECT DISTINCT h FROM Hotel h JOIN h.rooms r WHERE r.status = 'AVAILABLE' AND h.active = true")
     List<Hotel> findHotelsWithAvailableRooms();
 }
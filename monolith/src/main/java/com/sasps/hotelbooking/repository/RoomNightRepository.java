@@ -0,0 +1,49 @@
+package com.sasps.hotelbooking.repository;
+
+import com.sasps.hotelbooking.dto.NightOccupancy;
+import com.sasps.hotelbooking.model.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, RoomNight.Key> {
+
+    // One statement per booking, whatever the length of the stay
+    @Modifying
+    @Query(value = "INSERT INTO room_nights (room_id, night, booking_id) " +
+           "SELECT :roomId, cast(:from as date) + i, :bookingId " +
+           "FROM generate_series(0, cast(:to as date) - cast(:from as date) - 1) AS i",
+           nativeQuery = true)
+    int holdNights(@Param("roomId") Long roomId,
+                   @Param("bookingId") Long bookingId,
+                   @Param("from") LocalDate from,
+                   @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.bookingId = :bookingId")
+    int releaseNights(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.bookingId = :bookingId AND n.night >= :from")
+    int releaseNightsFrom(@Param("bookingId") Long bookingId, @Param("from") LocalDate from);
+
+    @Query("SELECT n FROM RoomNight n WHERE n.roomId = :roomId AND n.night >= :from AND n.night < :to " +
+           "ORDER BY n.night ASC")
+    List<RoomNight> findRoomCalendar(@Param("roomId") Long roomId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    @Query("SELECT new com.sasps.hotelbooking.dto.NightOccupancy(n.night, COUNT(n)) " +
+           "FROM RoomNight n JOIN Room r ON r.id = n.roomId " +
+           "WHERE r.hotel.id = :hotelId AND n.night >= :from AND n.night < :to " +
+           "GROUP BY n.night ORDER BY n.night ASC")
+    List<NightOccupancy> findHotelOccupancy(@Param("hotelId") Long hotelId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+}
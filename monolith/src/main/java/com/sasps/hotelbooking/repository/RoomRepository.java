@@ -1,8 +1,12 @@
 package com.sasps.hotelbooking.repository;
 
 import com.sasps.hotelbooking.model.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,10 +18,12 @@ import java.util.Optional;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Room> findByRoomNumberAndHotelId(String roomNumber, Long hotelId);
 
     boolean existsByRoomNumberAndHotelId(String roomNumber, Long hotelId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Room> findByHotelId(Long hotelId);
 
     List<Room> findByRoomType(Room.RoomType roomType);
@@ -25,25 +31,27 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     List<Room> findByStatus(Room.RoomStatus status);
 
+    List<Room> findByStatusAndIdGreaterThanOrderByIdAsc(Room.RoomStatus status, Long id, Limit limit);
+
+    List<Room> findByRoomTypeAndIdGreaterThanOrderByIdAsc(Room.RoomType roomType, Long id, Limit limit);
+
+    List<Room> findByHotelIdAndStatus(Long hotelId, Room.RoomStatus status);
+
+    List<Room> findByRoomTypeAndStatus(Room.RoomType roomType, Room.RoomStatus status);
+
     @Query("SELECT r FROM Room r WHERE r.status = 'AVAILABLE' AND r.id NOT IN " +
-           "(SELECT b.room.id FROM Booking b WHERE " +
-           "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND " +
-           "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn)))")
+           "(SELECT n.roomId FROM RoomNight n WHERE n.night >= :checkIn AND n.night < :checkOut)")
     List<Room> findAvailableRoomsForDates(@Param("checkIn") LocalDate checkIn, 
                                            @Param("checkOut") LocalDate checkOut);
 
     @Query("SELECT r FROM Room r WHERE r.hotel.id = :hotelId AND r.status = 'AVAILABLE' AND r.id NOT IN " +
-           "(SELECT b.room.id FROM Booking b WHERE " +
-           "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND " +
-           "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn)))")
+           "(SELECT n.roomId FROM RoomNight n WHERE n.night >= :checkIn AND n.night < :checkOut)")
     List<Room> findAvailableRoomsForHotelAndDates(@Param("hotelId") Long hotelId,
                                                    @Param("checkIn") LocalDate checkIn,
                                            @Param("checkOut") LocalDate checkOut);
 
     @Query("SELECT r FROM Room r WHERE r.status = 'AVAILABLE' AND r.roomType = :roomType AND r.id NOT IN " +
-           "(SELECT b.room.id FROM Booking b WHERE " +
-           "b.status IN ('CONFIRMED', 'CHECKED_IN', 'PENDING') AND " +
-           "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn)))")
+           "(SELECT n.roomId FROM RoomNight n WHERE n.night >= :checkIn AND n.night < :checkOut)")
     List<Room> findAvailableRoomsByTypeForDates(@Param("roomType") Room.RoomType roomType,
                                                  @Param("checkIn") LocalDate checkIn,
                                                  @Param("checkOut") LocalDate checkOut);
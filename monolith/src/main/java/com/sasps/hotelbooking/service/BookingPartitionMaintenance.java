@@ -0,0 +1,114 @@
+package com.sasps.hotelbooking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code bookings} ahead of new stays and moves old months whose
+ * stays are all finished into the {@code booking_archive} schema. The DDL lives in the
+ * {@code create_bookings_partition} and {@code archive_bookings_partitions} functions (V7), which
+ * serialise concurrent callers, so every instance may run this job.
+ */
+@Component
+@Slf4j
+public class BookingPartitionMaintenance {
+
+    private final JdbcTemplate jdbc;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int archiveAfterMonths;
+
+    private final Counter partitionsCreatedCounter;
+    private final Counter partitionsArchivedCounter;
+
+    public BookingPartitionMaintenance(JdbcTemplate jdbc,
+            MeterRegistry meterRegistry,
+            @Value("${booking.partitions.months-ahead:12}") int monthsAhead,
+            @Value("${booking.partitions.archive-enabled:true}") boolean archiveEnabled,
+            @Value("${booking.partitions.archive-after-months:24}") int archiveAfterMonths) {
+        this.jdbc = jdbc;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveAfterMonths = archiveAfterMonths;
+
+        this.partitionsCreatedCounter = Counter.builder("bookings.partitions.created")
+                .description("Monthly bookings partitions created ahead of time")
+                .register(meterRegistry);
+
+        this.partitionsArchivedCounter = Counter.builder("bookings.partitions.archived")
+                .description("Monthly bookings partitions moved to the booking_archive schema")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            maintain();
+        } catch (DataAccessException e) {
+            log.warn("Bookings partition maintenance failed at startup, retrying on schedule", e);
+        }
+    }
+
+    @Scheduled(cron = "${booking.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            log.debug("bookings is not a partitioned table, skipping partition maintenance");
+            return;
+        }
+        createFuturePartitions();
+        if (archiveEnabled) {
+            archiveOldPartitions();
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('bookings'))",
+                Boolean.class));
+    }
+
+    private void createFuturePartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            Boolean created = jdbc.queryForObject("SELECT create_bookings_partition(?)", Boolean.class,
+                    Date.valueOf(month.plusMonths(i)));
+            if (Boolean.TRUE.equals(created)) {
+                partitionsCreatedCounter.increment();
+                log.info("Created bookings partition for {}", month.plusMonths(i).withDayOfMonth(1));
+            }
+        }
+    }
+
+    private void archiveOldPartitions() {
+        LocalDate endedBy = LocalDate.now().withDayOfMonth(1).minusMonths(archiveAfterMonths);
+        List<PartitionArchival> results = jdbc.query(
+                "SELECT partition_name, archived, open_bookings FROM archive_bookings_partitions(?)",
+                (rs, rowNum) -> new PartitionArchival(
+                        rs.getString("partition_name"), rs.getBoolean("archived"), rs.getLong("open_bookings")),
+                Date.valueOf(endedBy));
+        for (PartitionArchival result : results) {
+            if (result.archived()) {
+                partitionsArchivedCounter.increment();
+                log.info("Archived bookings partition {} to booking_archive", result.partition());
+            } else {
+                log.warn("Bookings partition {} is due for archival but still holds {} bookings that are not "
+                        + "checked out, cancelled or no-show", result.partition(), result.openBookings());
+            }
+        }
+    }
+
+    private record PartitionArchival(String partition, boolean archived, long openBookings) {
+    }
+}
@@ -1,27 +1,36 @@
 package com.sasps.hotelbooking.service;
 
 import com.sasps.hotelbooking.dto.BookingDto;
+import com.sasps.hotelbooking.dto.CursorPage;
 import com.sasps.hotelbooking.exception.BusinessException;
 import com.sasps.hotelbooking.exception.ResourceNotFoundException;
 import com.sasps.hotelbooking.model.Booking;
 import com.sasps.hotelbooking.model.Room;
 import com.sasps.hotelbooking.model.User;
 import com.sasps.hotelbooking.repository.BookingRepository;
+import com.sasps.hotelbooking.repository.RoomNightRepository;
 import com.sasps.hotelbooking.repository.RoomRepository;
 import com.sasps.hotelbooking.repository.UserRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,25 +38,43 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookingService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String ROOM_NIGHTS_KEY = "room_nights_pkey";
+    private static final String CONFIRMATION_NUMBER_PREFIX = "BK-";
+
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomSearchCache searchCache;
+    private final IdGenerator idGenerator;
 
     private final Counter bookingsCreatedCounter;
     private final Counter bookingsConfirmedCounter;
     private final Counter bookingsCancelledCounter;
     private final Counter bookingsCheckedInCounter;
     private final Counter bookingsCheckedOutCounter;
+    private final Counter bookingConflictsCounter;
     private final Timer bookingCreationTimer;
+    private final Timer batchCreationTimer;
     private final Counter totalRevenueCounter;
 
     public BookingService(BookingRepository bookingRepository,
             RoomRepository roomRepository,
             UserRepository userRepository,
+            RoomNightRepository roomNightRepository,
+            RoomAvailabilityIndex availabilityIndex,
+            RoomSearchCache searchCache,
+            IdGenerator idGenerator,
             MeterRegistry meterRegistry) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
+        this.roomNightRepository = roomNightRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.searchCache = searchCache;
+        this.idGenerator = idGenerator;
 
         this.bookingsCreatedCounter = Counter.builder("bookings.created")
                 .description("Total number of bookings created")
@@ -74,11 +101,21 @@ public class BookingService {
                 .tag("architecture", "monolithic")
                 .register(meterRegistry);
 
+        this.bookingConflictsCounter = Counter.builder("bookings.conflicts")
+                .description("Total number of bookings rejected by the room/date overlap constraint")
+                .tag("architecture", "monolithic")
+                .register(meterRegistry);
+
         this.bookingCreationTimer = Timer.builder("booking.creation.time")
                 .description("Time taken to create a booking")
                 .tag("architecture", "monolithic")
                 .register(meterRegistry);
 
+        this.batchCreationTimer = Timer.builder("booking.batch.creation.time")
+                .description("Time taken to create a batch of bookings")
+                .tag("architecture", "monolithic")
+                .register(meterRegistry);
+
         this.totalRevenueCounter = Counter.builder("revenue.total")
                 .description("Total revenue from confirmed bookings")
                 .baseUnit("RON")
@@ -86,25 +123,24 @@ public class BookingService {
                 .register(meterRegistry);
     }
 
-    public List<BookingDto> getAllBookings() {
-        log.debug("Fetching all bookings");
-        return bookingRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<BookingDto> getAllBookings(Long after, Integer limit) {
+        log.debug("Fetching bookings after id: {}", after);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<BookingDto> bookings = bookingRepository.findDtosAfterId(
+                CursorPage.startAfter(after), CursorPage.probeLimit(pageSize));
+        return CursorPage.of(bookings, pageSize, BookingDto::getId, Function.identity());
     }
 
     public BookingDto getBookingById(Long id) {
         log.debug("Fetching booking with id: {}", id);
-        Booking booking = bookingRepository.findById(id)
+        return bookingRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", id));
-        return convertToDto(booking);
     }
 
     public BookingDto getBookingByConfirmationNumber(String confirmationNumber) {
         log.debug("Fetching booking with confirmation number: {}", confirmationNumber);
-        Booking booking = bookingRepository.findByConfirmationNumber(confirmationNumber)
+        return bookingRepository.findDtoByConfirmationNumber(confirmationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "confirmationNumber", confirmationNumber));
-        return convertToDto(booking);
     }
 
     public List<BookingDto> getUserBookings(Long userId) {
@@ -112,9 +148,7 @@ public class BookingService {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
-        return bookingRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtosByUserId(userId);
     }
 
     public List<BookingDto> getUserActiveBookings(Long userId) {
@@ -122,9 +156,7 @@ public class BookingService {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
-        return bookingRepository.findActiveBookingsByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findActiveDtosByUserId(userId);
     }
 
     public List<BookingDto> getRoomBookings(Long roomId) {
@@ -132,9 +164,7 @@ public class BookingService {
         if (!roomRepository.existsById(roomId)) {
             throw new ResourceNotFoundException("Room", "id", roomId);
         }
-        return bookingRepository.findByRoomIdOrderByCheckInDateAsc(roomId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtosByRoomId(roomId);
     }
 
     @Transactional
@@ -153,22 +183,13 @@ public class BookingService {
             if (room.getStatus() != Room.RoomStatus.AVAILABLE) {
                 throw new BusinessException("Room is not available for booking");
             }
-            if (!bookingRepository.isRoomAvailable(
-                    request.getRoomId(),
-                    request.getCheckInDate(),
-                    request.getCheckOutDate())) {
-                throw new BusinessException("Room is already booked for the selected dates");
-            }
             if (request.getNumberOfGuests() > room.getMaxOccupancy()) {
                 throw new BusinessException(String.format(
                         "Number of guests (%d) exceeds room's maximum occupancy (%d)",
                         request.getNumberOfGuests(), room.getMaxOccupancy()));
             }
-            long numberOfNights = ChronoUnit.DAYS.between(
-                    request.getCheckInDate(),
-                    request.getCheckOutDate());
-            BigDecimal totalPrice = room.getPricePerNight()
-                    .multiply(BigDecimal.valueOf(numberOfNights));
+            BigDecimal totalPrice = calculateTotalPrice(
+                    room.getPricePerNight(), request.getCheckInDate(), request.getCheckOutDate());
             String confirmationNumber = generateConfirmationNumber();
             Booking booking = Booking.builder()
                     .user(user)
@@ -184,7 +205,9 @@ public class BookingService {
                     .paymentMethod(request.getPaymentMethod())
                     .paidAmount(totalPrice)
                     .build();
-            Booking savedBooking = bookingRepository.save(booking);
+            Booking savedBooking = saveAndCheckOverlap(booking, "Room is already booked for the selected dates");
+            availabilityIndex.bookingChanged(savedBooking);
+            evictCachedSearches(savedBooking);
 
             bookingsCreatedCounter.increment();
             totalRevenueCounter.increment(totalPrice.doubleValue());
@@ -198,6 +221,131 @@ public class BookingService {
         }
     }
 
+    @Transactional
+    public BookingDto.BatchResponse createBookings(List<BookingDto.CreateRequest> requests) {
+        log.info("Creating batch of {} bookings", requests.size());
+
+        Timer.Sample sample = Timer.start();
+
+        try {
+            Set<Long> userIds = requests.stream().map(BookingDto.CreateRequest::getUserId).collect(Collectors.toSet());
+            Set<Long> roomIds = requests.stream().map(BookingDto.CreateRequest::getRoomId).collect(Collectors.toSet());
+            Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            Map<Long, Room> rooms = roomRepository.findAllById(roomIds).stream()
+                    .collect(Collectors.toMap(Room::getId, Function.identity()));
+            Map<Long, List<LocalDate[]>> reservedRanges = findReservedRanges(requests, rooms.keySet());
+
+            BookingDto.BatchItemResult[] results = new BookingDto.BatchItemResult[requests.size()];
+            List<Booking> accepted = new ArrayList<>();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                try {
+                    accepted.add(prepareBatchBooking(requests.get(i), users, rooms, reservedRanges));
+                    acceptedIndexes.add(i);
+                } catch (BusinessException | ResourceNotFoundException e) {
+                    results[i] = BookingDto.BatchItemResult.builder()
+                            .index(i)
+                            .success(false)
+                            .error(e.getMessage())
+                            .build();
+                }
+            }
+
+            List<Booking> savedBookings = saveAllAndCheckOverlap(accepted);
+            BigDecimal batchRevenue = BigDecimal.ZERO;
+            for (int j = 0; j < savedBookings.size(); j++) {
+                Booking savedBooking = savedBookings.get(j);
+                availabilityIndex.bookingChanged(savedBooking);
+                evictCachedSearches(savedBooking);
+                batchRevenue = batchRevenue.add(savedBooking.getTotalPrice());
+                int index = acceptedIndexes.get(j);
+                results[index] = BookingDto.BatchItemResult.builder()
+                        .index(index)
+                        .success(true)
+                        .booking(convertToDto(savedBooking))
+                        .build();
+            }
+
+            bookingsCreatedCounter.increment(savedBookings.size());
+            totalRevenueCounter.increment(batchRevenue.doubleValue());
+
+            log.info("Batch booking finished: {} created, {} rejected",
+                    savedBookings.size(), requests.size() - savedBookings.size());
+
+            return BookingDto.BatchResponse.builder()
+                    .succeeded(savedBookings.size())
+                    .failed(requests.size() - savedBookings.size())
+                    .results(List.of(results))
+                    .build();
+        } finally {
+            sample.stop(batchCreationTimer);
+        }
+    }
+
+    private Map<Long, List<LocalDate[]>> findReservedRanges(List<BookingDto.CreateRequest> requests, Set<Long> roomIds) {
+        Map<Long, List<LocalDate[]>> reservedRanges = new HashMap<>();
+        if (roomIds.isEmpty()) {
+            return reservedRanges;
+        }
+        LocalDate from = requests.stream().map(BookingDto.CreateRequest::getCheckInDate)
+                .min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = requests.stream().map(BookingDto.CreateRequest::getCheckOutDate)
+                .max(LocalDate::compareTo).orElseThrow();
+        for (Object[] row : bookingRepository.findActiveBookingIntervalsForRooms(roomIds, from, to)) {
+            reservedRanges.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new LocalDate[]{(LocalDate) row[1], (LocalDate) row[2]});
+        }
+        return reservedRanges;
+    }
+
+    private Booking prepareBatchBooking(BookingDto.CreateRequest request,
+            Map<Long, User> users,
+            Map<Long, Room> rooms,
+            Map<Long, List<LocalDate[]>> reservedRanges) {
+        validateBookingDates(request.getCheckInDate(), request.getCheckOutDate());
+        User user = users.get(request.getUserId());
+        if (user == null) {
+            throw new ResourceNotFoundException("User", "id", request.getUserId());
+        }
+        Room room = rooms.get(request.getRoomId());
+        if (room == null) {
+            throw new ResourceNotFoundException("Room", "id", request.getRoomId());
+        }
+        if (room.getStatus() != Room.RoomStatus.AVAILABLE) {
+            throw new BusinessException("Room is not available for booking");
+        }
+        if (request.getNumberOfGuests() > room.getMaxOccupancy()) {
+            throw new BusinessException(String.format(
+                    "Number of guests (%d) exceeds room's maximum occupancy (%d)",
+                    request.getNumberOfGuests(), room.getMaxOccupancy()));
+        }
+        List<LocalDate[]> roomRanges = reservedRanges.computeIfAbsent(room.getId(), id -> new ArrayList<>());
+        boolean overlaps = roomRanges.stream().anyMatch(range ->
+                range[0].isBefore(request.getCheckOutDate()) && range[1].isAfter(request.getCheckInDate()));
+        if (overlaps) {
+            throw new BusinessException("Room is already booked for the selected dates");
+        }
+        roomRanges.add(new LocalDate[]{request.getCheckInDate(), request.getCheckOutDate()});
+
+        BigDecimal totalPrice = calculateTotalPrice(
+                room.getPricePerNight(), request.getCheckInDate(), request.getCheckOutDate());
+        return Booking.builder()
+                .user(user)
+                .room(room)
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .numberOfGuests(request.getNumberOfGuests())
+                .totalPrice(totalPrice)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .specialRequests(request.getSpecialRequests())
+                .confirmationNumber(generateConfirmationNumber())
+                .paymentStatus(Booking.PaymentStatus.PAID)
+                .paymentMethod(request.getPaymentMethod())
+                .paidAmount(totalPrice)
+                .build();
+    }
+
     @Transactional
     public BookingDto updateBooking(Long id, BookingDto.UpdateRequest request) {
         log.info("Updating booking with id: {}", id);
@@ -207,25 +355,18 @@ public class BookingService {
                 booking.getStatus() == Booking.BookingStatus.CHECKED_OUT) {
             throw new BusinessException("Cannot update a cancelled or checked-out booking");
         }
+        LocalDate previousCheckIn = booking.getCheckInDate();
+        LocalDate previousCheckOut = booking.getCheckOutDate();
         if (request.getCheckInDate() != null || request.getCheckOutDate() != null) {
             LocalDate newCheckIn = request.getCheckInDate() != null ? request.getCheckInDate()
                     : booking.getCheckInDate();
             LocalDate newCheckOut = request.getCheckOutDate() != null ? request.getCheckOutDate()
                     : booking.getCheckOutDate();
             validateBookingDates(newCheckIn, newCheckOut);
-            List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                    booking.getRoom().getId(), newCheckIn, newCheckOut);
-            boolean hasConflict = overlappingBookings.stream()
-                    .anyMatch(b -> !b.getId().equals(booking.getId()));
-            if (hasConflict) {
-                throw new BusinessException("Room is not available for the new dates");
-            }
             booking.setCheckInDate(newCheckIn);
             booking.setCheckOutDate(newCheckOut);
-            long numberOfNights = ChronoUnit.DAYS.between(newCheckIn, newCheckOut);
-            BigDecimal totalPrice = booking.getRoom().getPricePerNight()
-                    .multiply(BigDecimal.valueOf(numberOfNights));
-            booking.setTotalPrice(totalPrice);
+            booking.setTotalPrice(calculateTotalPrice(
+                    booking.getRoom().getPricePerNight(), newCheckIn, newCheckOut));
         }
         if (request.getNumberOfGuests() != null) {
             if (request.getNumberOfGuests() > booking.getRoom().getMaxOccupancy()) {
@@ -248,7 +389,10 @@ public class BookingService {
         if (request.getPaidAmount() != null) {
             booking.setPaidAmount(request.getPaidAmount());
         }
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = saveAndCheckOverlap(booking, "Room is not available for the new dates");
+        availabilityIndex.bookingChanged(updatedBooking);
+        searchCache.bookingChanged(updatedBooking.getRoom(), previousCheckIn, previousCheckOut);
+        evictCachedSearches(updatedBooking);
         log.info("Booking updated successfully with id: {}", updatedBooking.getId());
         return convertToDto(updatedBooking);
     }
@@ -265,6 +409,9 @@ public class BookingService {
         booking.setCancelledAt(LocalDateTime.now());
         booking.setCancellationReason(request.getCancellationReason());
         Booking cancelledBooking = bookingRepository.save(booking);
+        roomNightRepository.releaseNights(cancelledBooking.getId());
+        availabilityIndex.bookingChanged(cancelledBooking);
+        evictCachedSearches(cancelledBooking);
 
         bookingsCancelledCounter.increment();
 
@@ -307,6 +454,7 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.CHECKED_IN);
         booking.getRoom().setStatus(Room.RoomStatus.OCCUPIED);
         Booking checkedInBooking = bookingRepository.save(booking);
+        searchCache.hotelChanged(checkedInBooking.getRoom().getHotel().getId());
 
         bookingsCheckedInCounter.increment();
 
@@ -325,6 +473,9 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.CHECKED_OUT);
         booking.getRoom().setStatus(Room.RoomStatus.AVAILABLE);
         Booking checkedOutBooking = bookingRepository.save(booking);
+        roomNightRepository.releaseNightsFrom(checkedOutBooking.getId(), LocalDate.now());
+        availabilityIndex.bookingChanged(checkedOutBooking);
+        searchCache.hotelChanged(checkedOutBooking.getRoom().getHotel().getId());
 
         bookingsCheckedOutCounter.increment();
 
@@ -340,29 +491,29 @@ public class BookingService {
         if (booking.isActive()) {
             throw new BusinessException("Cannot delete an active booking. Please cancel it first.");
         }
+        roomNightRepository.releaseNights(booking.getId());
         bookingRepository.delete(booking);
+        availabilityIndex.bookingDeleted(booking);
         log.info("Booking deleted successfully with id: {}", id);
     }
 
     public List<BookingDto> getUpcomingBookings() {
         log.debug("Fetching upcoming bookings");
-        return bookingRepository.findUpcomingBookings(LocalDate.now()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findUpcomingDtos(LocalDate.now());
     }
 
     public List<BookingDto> getTodayCheckIns() {
         log.debug("Fetching today's check-ins");
-        return bookingRepository.findBookingsForCheckInToday(LocalDate.now()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtosForCheckInToday(LocalDate.now());
     }
 
     public List<BookingDto> getTodayCheckOuts() {
         log.debug("Fetching today's check-outs");
-        return bookingRepository.findBookingsForCheckOutToday(LocalDate.now()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtosForCheckOutToday(LocalDate.now());
+    }
+
+    private void evictCachedSearches(Booking booking) {
+        searchCache.bookingChanged(booking.getRoom(), booking.getCheckInDate(), booking.getCheckOutDate());
     }
 
     private void validateBookingDates(LocalDate checkIn, LocalDate checkOut) {
@@ -373,16 +524,82 @@ public class BookingService {
             throw new BusinessException("Check-out date must be after check-in date");
         }
         long numberOfNights = ChronoUnit.DAYS.between(checkIn, checkOut);
-        if (numberOfNights > 30) {
-            throw new BusinessException("Booking duration cannot exceed 30 nights");
+        if (numberOfNights > Booking.MAX_NIGHTS) {
+            throw new BusinessException("Booking duration cannot exceed " + Booking.MAX_NIGHTS + " nights");
+        }
+    }
+
+    private Booking saveAndCheckOverlap(Booking booking, String conflictMessage) {
+        boolean isNew = booking.getId() == null;
+        try {
+            Booking savedBooking = bookingRepository.saveAndFlush(booking);
+            if (!isNew) {
+                roomNightRepository.releaseNights(savedBooking.getId());
+            }
+            holdRoomNights(savedBooking);
+            return savedBooking;
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                bookingConflictsCounter.increment();
+                throw new BusinessException(conflictMessage);
+            }
+            throw e;
+        }
+    }
+
+    private List<Booking> saveAllAndCheckOverlap(List<Booking> bookings) {
+        try {
+            List<Booking> savedBookings = bookingRepository.saveAllAndFlush(bookings);
+            savedBookings.forEach(this::holdRoomNights);
+            return savedBookings;
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                bookingConflictsCounter.increment();
+                throw new BusinessException("One or more rooms were booked concurrently, please retry the batch");
+            }
+            throw e;
+        }
+    }
+
+    // Every night of an active stay, and the nights a checked-out stay used before leaving
+    private void holdRoomNights(Booking booking) {
+        LocalDate heldUntil = booking.getCheckInDate();
+        if (booking.isActive()) {
+            heldUntil = booking.getCheckOutDate();
+        } else if (booking.getStatus() == Booking.BookingStatus.CHECKED_OUT) {
+            heldUntil = booking.getCheckOutDate().isAfter(LocalDate.now()) ? LocalDate.now()
+                    : booking.getCheckOutDate();
+        }
+        if (heldUntil.isAfter(booking.getCheckInDate())) {
+            roomNightRepository.holdNights(booking.getRoom().getId(), booking.getId(),
+                    booking.getCheckInDate(), heldUntil);
         }
     }
 
-    private String generateConfirmationNumber() {
-        return "BK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+            if (cause instanceof ConstraintViolationException violation
+                    && ROOM_NIGHTS_KEY.equals(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static BigDecimal calculateTotalPrice(BigDecimal pricePerNight, LocalDate checkIn, LocalDate checkOut) {
+        long numberOfNights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        return pricePerNight.multiply(BigDecimal.valueOf(numberOfNights));
+    }
+
+    String generateConfirmationNumber() {
+        return CONFIRMATION_NUMBER_PREFIX + idGenerator.nextId();
     }
 
-    private BookingDto convertToDto(Booking booking) {
+    BookingDto convertToDto(Booking booking) {
         return BookingDto.builder()
                 .id(booking.getId())
                 .userId(booking.getUser().getId())
@@ -1,6 +1,8 @@
 package com.sasps.hotelbooking.service;
 
+import com.sasps.hotelbooking.dto.CursorPage;
 import com.sasps.hotelbooking.dto.HotelDto;
+import com.sasps.hotelbooking.dto.HotelWithRoomCounts;
 import com.sasps.hotelbooking.exception.BusinessException;
 import com.sasps.hotelbooking.exception.ResourceAlreadyExistsException;
 import com.sasps.hotelbooking.exception.ResourceNotFoundException;
@@ -22,26 +24,29 @@ import java.util.stream.Collectors;
 public class HotelService {
 
     private final HotelRepository hotelRepository;
+    private final RoomSearchCache searchCache;
 
-    public List<HotelDto> getAllHotels() {
-        log.debug("Fetching all hotels");
-        return hotelRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<HotelDto> getAllHotels(Long after, Integer limit) {
+        log.debug("Fetching hotels after id: {}", after);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<HotelWithRoomCounts> hotels = hotelRepository.findWithRoomCountsAfterId(
+                CursorPage.startAfter(after), CursorPage.probeLimit(pageSize));
+        return CursorPage.of(hotels, pageSize, row -> row.getHotel().getId(), this::convertToDto);
     }
 
-    public List<HotelDto> getAllActiveHotels() {
-        log.debug("Fetching all active hotels");
-        return hotelRepository.findByActiveTrue().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<HotelDto> getAllActiveHotels(Long after, Integer limit) {
+        log.debug("Fetching active hotels after id: {}", after);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<HotelWithRoomCounts> hotels = hotelRepository.findActiveWithRoomCountsAfterId(
+                CursorPage.startAfter(after), CursorPage.probeLimit(pageSize));
+        return CursorPage.of(hotels, pageSize, row -> row.getHotel().getId(), this::convertToDto);
     }
 
     public HotelDto getHotelById(Long id) {
         log.debug("Fetching hotel with id: {}", id);
-        Hotel hotel = hotelRepository.findById(id)
+        return hotelRepository.findWithRoomCountsById(id)
+                .map(this::convertToDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", id));
-        return convertToDto(hotel);
     }
 
     public HotelDto getHotelByName(String name) {
@@ -119,6 +124,7 @@ public class HotelService {
             hotel.setActive(request.getActive());
         }
         Hotel updatedHotel = hotelRepository.save(hotel);
+        searchCache.hotelChanged(id);
         log.info("Hotel updated successfully with id: {}", updatedHotel.getId());
         return convertToDto(updatedHotel);
     }
@@ -129,49 +135,59 @@ public class HotelService {
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", id));
         hotelRepository.delete(hotel);
+        searchCache.hotelChanged(id);
         log.info("Hotel deleted successfully with id: {} (cascade deleted {} rooms)", id, hotel.getRooms().size());
     }
 
     public List<HotelDto> getHotelsByCity(String city) {
         log.debug("Fetching hotels in city: {}", city);
-        return hotelRepository.findByCity(city).stream()
+        return hotelRepository.findWithRoomCountsByCity(city).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     public List<HotelDto> getHotelsByCountry(String country) {
         log.debug("Fetching hotels in country: {}", country);
-        return hotelRepository.findByCountry(country).stream()
+        return hotelRepository.findWithRoomCountsByCountry(country).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     public List<HotelDto> searchHotels(HotelDto.SearchRequest searchRequest) {
         log.debug("Searching hotels with criteria: {}", searchRequest);
-        List<Hotel> hotels;
-        if (searchRequest.getOnlyWithAvailableRooms() != null && searchRequest.getOnlyWithAvailableRooms()) {
-            hotels = hotelRepository.findHotelsWithAvailableRooms();
-        } else {
-            hotels = hotelRepository.findByActiveTrue();
-        }
-        return hotels.stream()
-                .filter(hotel -> searchRequest.getCity() == null ||
-                               hotel.getCity().equalsIgnoreCase(searchRequest.getCity()))
-                .filter(hotel -> searchRequest.getCountry() == null ||
-                               hotel.getCountry().equalsIgnoreCase(searchRequest.getCountry()))
-                .filter(hotel -> searchRequest.getMinStarRating() == null ||
-                               (hotel.getStarRating() != null && hotel.getStarRating() >= searchRequest.getMinStarRating()))
-                .filter(hotel -> searchRequest.getSearchTerm() == null ||
-                               hotel.getName().toLowerCase().contains(searchRequest.getSearchTerm().toLowerCase()) ||
-                               hotel.getCity().toLowerCase().contains(searchRequest.getSearchTerm().toLowerCase()))
+        boolean onlyWithAvailableRooms = searchRequest.getOnlyWithAvailableRooms() != null
+                && searchRequest.getOnlyWithAvailableRooms();
+        return hotelRepository.findActiveWithRoomCounts().stream()
+                .filter(row -> !onlyWithAvailableRooms || row.getAvailableRooms() > 0)
+                .filter(row -> matchesSearch(row.getHotel(), searchRequest))
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    private boolean matchesSearch(Hotel hotel, HotelDto.SearchRequest searchRequest) {
+        return (searchRequest.getCity() == null ||
+                       hotel.getCity().equalsIgnoreCase(searchRequest.getCity()))
+                && (searchRequest.getCountry() == null ||
+                       hotel.getCountry().equalsIgnoreCase(searchRequest.getCountry()))
+                && (searchRequest.getMinStarRating() == null ||
+                       (hotel.getStarRating() != null && hotel.getStarRating() >= searchRequest.getMinStarRating()))
+                && (searchRequest.getSearchTerm() == null ||
+                       hotel.getName().toLowerCase().contains(searchRequest.getSearchTerm().toLowerCase()) ||
+                       hotel.getCity().toLowerCase().contains(searchRequest.getSearchTerm().toLowerCase()));
+    }
+
+    private HotelDto convertToDto(HotelWithRoomCounts row) {
+        return convertToDto(row.getHotel(), row.getTotalRooms(), row.getAvailableRooms());
+    }
+
     private HotelDto convertToDto(Hotel hotel) {
         long availableRooms = hotel.getRooms().stream()
                 .filter(room -> room.getStatus() == Room.RoomStatus.AVAILABLE)
                 .count();
+        return convertToDto(hotel, hotel.getRooms().size(), availableRooms);
+    }
+
+    private HotelDto convertToDto(Hotel hotel, long totalRooms, long availableRooms) {
         return HotelDto.builder()
                 .id(hotel.getId())
                 .name(hotel.getName())
@@ -187,7 +203,7 @@ public class HotelService {
                 .amenities(hotel.getAmenities())
                 .imageUrl(hotel.getImageUrl())
                 .active(hotel.getActive())
-                .totalRooms(hotel.getRooms().size())
+                .totalRooms((int) totalRooms)
                 .availableRooms((int) availableRooms)
                 .createdAt(hotel.getCreatedAt())
                 .updatedAt(hotel.getUpdatedAt())
@@ -0,0 +1,75 @@
+package com.sasps.hotelbooking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sasps.hotelbooking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts failed logins per account. Once an account reaches {@code login.throttle.max-failures},
+ * further attempts are refused without hashing until {@code login.throttle.lockout-seconds} pass
+ * after the last failure.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, Integer> failures;
+    private final int maxFailures;
+    private final long lockoutSeconds;
+    private final Counter throttledCounter;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${login.throttle.max-failures:5}") int maxFailures,
+                         @Value("${login.throttle.lockout-seconds:300}") long lockoutSeconds,
+                         @Value("${login.throttle.max-accounts:100000}") long maxAccounts) {
+        this.maxFailures = maxFailures;
+        this.lockoutSeconds = lockoutSeconds;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxAccounts)
+                .expireAfterWrite(Duration.ofSeconds(lockoutSeconds))
+                .build();
+
+        this.throttledCounter = Counter.builder("login.throttled")
+                .description("Login attempts refused because the account had too many recent failures")
+                .register(meterRegistry);
+    }
+
+    public void checkAllowed(String account) {
+        String key = key(account);
+        Integer count = failures.getIfPresent(key);
+        if (count != null && count >= maxFailures) {
+            throttledCounter.increment();
+            throw new TooManyRequestsException("Too many failed login attempts, please retry later",
+                    remainingLockoutSeconds(key));
+        }
+    }
+
+    public void recordFailure(String account) {
+        failures.asMap().merge(key(account), 1, Integer::sum);
+    }
+
+    public void recordSuccess(String account) {
+        failures.invalidate(key(account));
+    }
+
+    /**
+     * Seconds until the lockout lifts, i.e. until the failure count expires, rounded up.
+     */
+    private long remainingLockoutSeconds(String key) {
+        return failures.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(age -> Duration.ofSeconds(lockoutSeconds).minus(age))
+                .map(remaining -> Math.max(1, (remaining.toMillis() + 999) / 1000))
+                .orElse(lockoutSeconds);
+    }
+
+    private static String key(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+}
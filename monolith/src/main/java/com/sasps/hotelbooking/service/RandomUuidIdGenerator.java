@@ -0,0 +1,14 @@
+package com.sasps.hotelbooking.service;
+
+import java.util.UUID;
+
+/**
+ * Random (type 4) UUIDs. Collision-free in practice but draws from {@code SecureRandom} on every call.
+ */
+public class RandomUuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString().toUpperCase();
+    }
+}
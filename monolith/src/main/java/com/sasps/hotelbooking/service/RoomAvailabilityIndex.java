@@ -0,0 +1,245 @@
+package com.sasps.hotelbooking.service;
+
+import com.sasps.hotelbooking.model.Booking;
+import com.sasps.hotelbooking.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory day-granularity occupancy index, one bitset per room.
+ * Bit {@code n} of a room's bitset is set when an active booking covers the day
+ * {@code baseDate + n}; a booking occupies the nights {@code [checkIn, checkOut)}.
+ */
+@Component
+@Slf4j
+public class RoomAvailabilityIndex {
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicLong mutations = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), 0);
+    private volatile boolean warm;
+
+    private final Counter indexSearchCounter;
+    private final Counter databaseSearchCounter;
+
+    public RoomAvailabilityIndex(BookingRepository bookingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${availability.index.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+
+        this.indexSearchCounter = Counter.builder("availability.index.searches")
+                .description("Room searches answered by the in-memory availability index")
+                .tag("source", "index")
+                .register(meterRegistry);
+
+        this.databaseSearchCounter = Counter.builder("availability.index.searches")
+                .description("Room searches answered by the in-memory availability index")
+                .tag("source", "database")
+                .register(meterRegistry);
+
+        Gauge.builder("availability.index.rooms", this, index -> index.snapshot.calendars().size())
+                .description("Number of rooms with at least one active booking in the availability index")
+                .register(meterRegistry);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${availability.index.refresh-interval-ms:3600000}",
+            initialDelayString = "${availability.index.refresh-interval-ms:3600000}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long version = mutations.get();
+            long epochDay = LocalDate.now().minusDays(1).toEpochDay();
+            Map<Long, RoomCalendar> loaded = load(epochDay);
+
+            swapLock.writeLock().lock();
+            try {
+                if (mutations.get() == version) {
+                    snapshot = new Snapshot(loaded, epochDay);
+                    warm = true;
+                    log.info("Availability index loaded for {} rooms", loaded.size());
+                    return;
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            log.debug("Bookings changed while loading availability index, retrying (attempt {})", attempt);
+        }
+        log.warn("Availability index could not be loaded consistently after {} attempts", MAX_RELOAD_ATTEMPTS);
+    }
+
+    private Map<Long, RoomCalendar> load(long epochDay) {
+        List<Object[]> intervals = bookingRepository.findActiveBookingIntervals(LocalDate.ofEpochDay(epochDay));
+        Map<Long, RoomCalendar> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : intervals) {
+            Long bookingId = (Long) row[0];
+            Long roomId = (Long) row[1];
+            LocalDate checkIn = (LocalDate) row[2];
+            LocalDate checkOut = (LocalDate) row[3];
+            loaded.computeIfAbsent(roomId, id -> new RoomCalendar())
+                    .put(bookingId, offset(checkIn, epochDay), offset(checkOut, epochDay));
+        }
+        return loaded;
+    }
+
+    public boolean isAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        RoomCalendar calendar = current.calendars().get(roomId);
+        if (calendar == null) {
+            return true;
+        }
+        long epochDay = current.baseEpochDay();
+        return calendar.isFree(offset(checkIn, epochDay), offset(checkOut, epochDay));
+    }
+
+    public void recordSearch(boolean fromIndex) {
+        (fromIndex ? indexSearchCounter : databaseSearchCounter).increment();
+    }
+
+    /**
+     * Applies the booking's current state to the index once the surrounding transaction commits.
+     */
+    public void bookingChanged(Booking booking) {
+        Long bookingId = booking.getId();
+        Long roomId = booking.getRoom().getId();
+        if (booking.isActive()) {
+            LocalDate checkIn = booking.getCheckInDate();
+            LocalDate checkOut = booking.getCheckOutDate();
+            afterCommit(() -> put(bookingId, roomId, checkIn, checkOut));
+        } else {
+            afterCommit(() -> remove(bookingId, roomId));
+        }
+    }
+
+    public void bookingDeleted(Booking booking) {
+        Long bookingId = booking.getId();
+        Long roomId = booking.getRoom().getId();
+        afterCommit(() -> remove(bookingId, roomId));
+    }
+
+    private void put(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        swapLock.readLock().lock();
+        try {
+            mutations.incrementAndGet();
+            Snapshot current = snapshot;
+            long epochDay = current.baseEpochDay();
+            current.calendars().computeIfAbsent(roomId, id -> new RoomCalendar())
+                    .put(bookingId, offset(checkIn, epochDay), offset(checkOut, epochDay));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void remove(Long bookingId, Long roomId) {
+        swapLock.readLock().lock();
+        try {
+            mutations.incrementAndGet();
+            RoomCalendar calendar = snapshot.calendars().get(roomId);
+            if (calendar != null) {
+                calendar.remove(bookingId);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int offset(LocalDate date, long epochDay) {
+        return (int) Math.max(0, date.toEpochDay() - epochDay);
+    }
+
+    /**
+     * The calendars together with the day their bit 0 stands for, swapped as one reference so a
+     * reader never pairs a reloaded map with the previous base day.
+     */
+    private record Snapshot(Map<Long, RoomCalendar> calendars, long baseEpochDay) {
+    }
+
+    private static final class RoomCalendar {
+
+        private final Map<Long, int[]> bookings = new HashMap<>();
+        private final BitSet nights = new BitSet();
+
+        synchronized void put(Long bookingId, int from, int to) {
+            int[] previous = bookings.put(bookingId, new int[]{from, to});
+            if (previous != null) {
+                rebuild();
+            } else {
+                nights.set(from, to);
+            }
+        }
+
+        synchronized void remove(Long bookingId) {
+            if (bookings.remove(bookingId) != null) {
+                rebuild();
+            }
+        }
+
+        synchronized boolean isFree(int from, int to) {
+            int next = nights.nextSetBit(from);
+            return next < 0 || next >= to;
+        }
+
+        private void rebuild() {
+            nights.clear();
+            for (int[] range : bookings.values()) {
+                nights.set(range[0], range[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.sasps.hotelbooking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sasps.hotelbooking.dto.RoomDto;
+import com.sasps.hotelbooking.model.Room;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of available-room search results, keyed by the normalised search request.
+ * Booking changes evict only the entries whose stay window overlaps the booking and whose
+ * hotel/room-type filter could include the booked room; room and hotel changes evict every
+ * entry that could list a room of that hotel.
+ */
+@Component
+@Slf4j
+public class RoomSearchCache {
+
+    private final boolean enabled;
+    private final Cache<SearchKey, List<RoomDto>> cache;
+
+    // Held shared while storing a freshly computed result, exclusively while evicting, so a search
+    // that overlaps an invalidation can never store a result computed from the old state.
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+    private long generation;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bookingInvalidationCounter;
+    private final Counter roomInvalidationCounter;
+
+    public RoomSearchCache(MeterRegistry meterRegistry,
+            @Value("${room.search.cache.enabled:true}") boolean enabled,
+            @Value("${room.search.cache.max-size:10000}") long maxSize,
+            @Value("${room.search.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        this.hitCounter = Counter.builder("room.search.cache")
+                .description("Room searches looked up in the search-result cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+
+        this.missCounter = Counter.builder("room.search.cache")
+                .description("Room searches looked up in the search-result cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        this.bookingInvalidationCounter = Counter.builder("room.search.cache.invalidations")
+                .description("Cached room searches evicted because the underlying data changed")
+                .tag("cause", "booking")
+                .register(meterRegistry);
+
+        this.roomInvalidationCounter = Counter.builder("room.search.cache.invalidations")
+                .description("Cached room searches evicted because the underlying data changed")
+                .tag("cause", "room")
+                .register(meterRegistry);
+
+        Gauge.builder("room.search.cache.size", cache, Cache::estimatedSize)
+                .description("Number of search results held in the room search cache")
+                .register(meterRegistry);
+    }
+
+    public List<RoomDto> get(RoomDto.SearchRequest request, Supplier<List<RoomDto>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        SearchKey key = SearchKey.of(request);
+        List<RoomDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+
+        long startGeneration = currentGeneration();
+        List<RoomDto> result = List.copyOf(search.get());
+        invalidationLock.readLock().lock();
+        try {
+            if (generation == startGeneration) {
+                cache.put(key, result);
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Evicts, once the surrounding transaction commits, the searches that could include
+     * {@code room} for a stay overlapping {@code [checkIn, checkOut)}.
+     */
+    public void bookingChanged(Room room, LocalDate checkIn, LocalDate checkOut) {
+        Long hotelId = room.getHotel().getId();
+        Room.RoomType roomType = room.getRoomType();
+        afterCommit(() -> evict(key -> key.overlaps(checkIn, checkOut) && key.matches(hotelId, roomType),
+                bookingInvalidationCounter));
+    }
+
+    /**
+     * Evicts, once the surrounding transaction commits, every search that could list a room of the hotel.
+     */
+    public void hotelChanged(Long hotelId) {
+        afterCommit(() -> evict(key -> key.hotelId() == null || key.hotelId().equals(hotelId),
+                roomInvalidationCounter));
+    }
+
+    private long currentGeneration() {
+        invalidationLock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    private void evict(Predicate<SearchKey> affected, Counter counter) {
+        invalidationLock.writeLock().lock();
+        try {
+            generation++;
+            List<SearchKey> stale = cache.asMap().keySet().stream()
+                    .filter(affected)
+                    .toList();
+            cache.invalidateAll(stale);
+            if (!stale.isEmpty()) {
+                counter.increment(stale.size());
+                log.debug("Evicted {} cached room searches", stale.size());
+            }
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record SearchKey(LocalDate checkIn, LocalDate checkOut, Long hotelId, Room.RoomType roomType,
+            Integer minOccupancy, BigDecimal minPrice, BigDecimal maxPrice) {
+
+        // RoomService ignores roomType when a hotel is given, so the key does too: the entry lists
+        // every room of the hotel and must be evicted by a booking of any of them
+        static SearchKey of(RoomDto.SearchRequest request) {
+            Room.RoomType roomType = request.getHotelId() != null ? null : request.getRoomType();
+            return new SearchKey(request.getCheckInDate(), request.getCheckOutDate(), request.getHotelId(),
+                    roomType, request.getMinOccupancy(),
+                    normalise(request.getMinPrice()), normalise(request.getMaxPrice()));
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return checkIn.isBefore(to) && checkOut.isAfter(from);
+        }
+
+        boolean matches(Long roomHotelId, Room.RoomType type) {
+            if (hotelId != null) {
+                return hotelId.equals(roomHotelId);
+            }
+            return roomType == null || roomType == type;
+        }
+
+        private static BigDecimal normalise(BigDecimal price) {
+            return price != null ? price.stripTrailingZeros() : null;
+        }
+    }
+}
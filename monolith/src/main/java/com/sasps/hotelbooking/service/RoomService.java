@@ -1,5 +1,8 @@
 package com.sasps.hotelbooking.service;
 
+import com.sasps.hotelbooking.dto.CursorPage;
+import com.sasps.hotelbooking.dto.HotelWithRoomCounts;
+import com.sasps.hotelbooking.dto.NightOccupancy;
 import com.sasps.hotelbooking.dto.RoomDto;
 import com.sasps.hotelbooking.exception.BusinessException;
 import com.sasps.hotelbooking.exception.ResourceAlreadyExistsException;
@@ -7,6 +10,7 @@ import com.sasps.hotelbooking.exception.ResourceNotFoundException;
 import com.sasps.hotelbooking.model.Hotel;
 import com.sasps.hotelbooking.model.Room;
 import com.sasps.hotelbooking.repository.HotelRepository;
+import com.sasps.hotelbooking.repository.RoomNightRepository;
 import com.sasps.hotelbooking.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,8 +29,13 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class RoomService {
 
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomSearchCache searchCache;
 
     public RoomDto getRoomById(Long id) {
         log.debug("Fetching room with id: {}", id);
@@ -73,6 +83,7 @@ public class RoomService {
                 .status(request.getStatus() != null ? request.getStatus() : Room.RoomStatus.AVAILABLE)
                 .build();
         Room savedRoom = roomRepository.save(room);
+        searchCache.hotelChanged(hotel.getId());
         log.info("Room created successfully with id: {}", savedRoom.getId());
         return convertToDto(savedRoom);
     }
@@ -116,6 +127,7 @@ public class RoomService {
             room.setStatus(request.getStatus());
         }
         Room updatedRoom = roomRepository.save(room);
+        searchCache.hotelChanged(updatedRoom.getHotel().getId());
         log.info("Room updated successfully with id: {}", updatedRoom.getId());
         return convertToDto(updatedRoom);
     }
@@ -126,21 +138,24 @@ public class RoomService {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room", "id", id));
         roomRepository.delete(room);
+        searchCache.hotelChanged(room.getHotel().getId());
         log.info("Room deleted successfully with id: {}", id);
     }
 
-    public List<RoomDto> getRoomsByType(Room.RoomType roomType) {
-        log.debug("Fetching rooms with type: {}", roomType);
-        return roomRepository.findByRoomType(roomType).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<RoomDto> getRoomsByType(Room.RoomType roomType, Long after, Integer limit) {
+        log.debug("Fetching rooms with type: {} after id: {}", roomType, after);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Room> rooms = roomRepository.findByRoomTypeAndIdGreaterThanOrderByIdAsc(
+                roomType, CursorPage.startAfter(after), CursorPage.probeLimit(pageSize));
+        return CursorPage.of(rooms, pageSize, Room::getId, this::convertToDto);
     }
 
-    public List<RoomDto> getRoomsByStatus(Room.RoomStatus status) {
-        log.debug("Fetching rooms with status: {}", status);
-        return roomRepository.findByStatus(status).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<RoomDto> getRoomsByStatus(Room.RoomStatus status, Long after, Integer limit) {
+        log.debug("Fetching rooms with status: {} after id: {}", status, after);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Room> rooms = roomRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, CursorPage.startAfter(after), CursorPage.probeLimit(pageSize));
+        return CursorPage.of(rooms, pageSize, Room::getId, this::convertToDto);
     }
 
     public List<RoomDto> searchAvailableRooms(RoomDto.SearchRequest searchRequest) {
@@ -152,11 +167,49 @@ public class RoomService {
         if (searchRequest.getCheckInDate().isBefore(LocalDate.now())) {
             throw new BusinessException("Check-in date cannot be in the past");
         }
+        if (searchRequest.getHotelId() != null && !hotelRepository.existsById(searchRequest.getHotelId())) {
+            throw new ResourceNotFoundException("Hotel", "id", searchRequest.getHotelId());
+        }
+        return searchCache.get(searchRequest, () -> findAvailableRooms(searchRequest));
+    }
+
+    private List<RoomDto> findAvailableRooms(RoomDto.SearchRequest searchRequest) {
+        List<Room> availableRooms = availabilityIndex.isWarm()
+                ? findAvailableRoomsFromIndex(searchRequest)
+                : findAvailableRoomsFromDatabase(searchRequest);
+        return availableRooms.stream()
+                .filter(room -> searchRequest.getMinOccupancy() == null || 
+                               room.getMaxOccupancy() >= searchRequest.getMinOccupancy())
+                .filter(room -> searchRequest.getMinPrice() == null || 
+                               room.getPricePerNight().compareTo(searchRequest.getMinPrice()) >= 0)
+                .filter(room -> searchRequest.getMaxPrice() == null || 
+                               room.getPricePerNight().compareTo(searchRequest.getMaxPrice()) <= 0)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<Room> findAvailableRoomsFromIndex(RoomDto.SearchRequest searchRequest) {
+        availabilityIndex.recordSearch(true);
+        List<Room> candidates;
+        if (searchRequest.getHotelId() != null) {
+            candidates = roomRepository.findByHotelIdAndStatus(searchRequest.getHotelId(), Room.RoomStatus.AVAILABLE);
+        } else if (searchRequest.getRoomType() != null) {
+            candidates = roomRepository.findByRoomTypeAndStatus(searchRequest.getRoomType(), Room.RoomStatus.AVAILABLE);
+        } else {
+            candidates = roomRepository.findByStatus(Room.RoomStatus.AVAILABLE);
+        }
+        return candidates.stream()
+                .filter(room -> availabilityIndex.isAvailable(
+                        room.getId(),
+                        searchRequest.getCheckInDate(),
+                        searchRequest.getCheckOutDate()))
+                .collect(Collectors.toList());
+    }
+
+    private List<Room> findAvailableRoomsFromDatabase(RoomDto.SearchRequest searchRequest) {
+        availabilityIndex.recordSearch(false);
         List<Room> availableRooms;
         if (searchRequest.getHotelId() != null) {
-            if (!hotelRepository.existsById(searchRequest.getHotelId())) {
-                throw new ResourceNotFoundException("Hotel", "id", searchRequest.getHotelId());
-            }
             availableRooms = roomRepository.findAvailableRoomsForHotelAndDates(
                     searchRequest.getHotelId(),
                     searchRequest.getCheckInDate(),
@@ -174,15 +227,53 @@ public class RoomService {
                     searchRequest.getCheckOutDate()
             );
         }
-        return availableRooms.stream()
-                .filter(room -> searchRequest.getMinOccupancy() == null || 
-                               room.getMaxOccupancy() >= searchRequest.getMinOccupancy())
-                .filter(room -> searchRequest.getMinPrice() == null || 
-                               room.getPricePerNight().compareTo(searchRequest.getMinPrice()) >= 0)
-                .filter(room -> searchRequest.getMaxPrice() == null || 
-                               room.getPricePerNight().compareTo(searchRequest.getMaxPrice()) <= 0)
-                .map(this::convertToDto)
+        return availableRooms;
+    }
+
+    public RoomDto.Calendar getRoomCalendar(Long roomId, LocalDate from, LocalDate to) {
+        log.debug("Fetching calendar for room id: {} from {} to {}", roomId, from, to);
+        validateCalendarRange(from, to);
+        if (!roomRepository.existsById(roomId)) {
+            throw new ResourceNotFoundException("Room", "id", roomId);
+        }
+        List<RoomDto.BookedNight> bookedNights = roomNightRepository.findRoomCalendar(roomId, from, to).stream()
+                .map(night -> new RoomDto.BookedNight(night.getNight(), night.getBookingId()))
                 .collect(Collectors.toList());
+        return RoomDto.Calendar.builder()
+                .roomId(roomId)
+                .from(from)
+                .to(to)
+                .bookedNights(bookedNights)
+                .build();
+    }
+
+    public RoomDto.Occupancy getHotelOccupancy(Long hotelId, LocalDate from, LocalDate to) {
+        log.debug("Fetching occupancy for hotel id: {} from {} to {}", hotelId, from, to);
+        validateCalendarRange(from, to);
+        long totalRooms = hotelRepository.findWithRoomCountsById(hotelId)
+                .map(HotelWithRoomCounts::getTotalRooms)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", hotelId));
+        List<NightOccupancy> nights = roomNightRepository.findHotelOccupancy(hotelId, from, to);
+        long occupiedRoomNights = nights.stream().mapToLong(NightOccupancy::getOccupiedRooms).sum();
+        long roomNights = totalRooms * ChronoUnit.DAYS.between(from, to);
+        return RoomDto.Occupancy.builder()
+                .hotelId(hotelId)
+                .from(from)
+                .to(to)
+                .totalRooms(totalRooms)
+                .occupiedRoomNights(occupiedRoomNights)
+                .occupancyRate(roomNights == 0 ? 0 : (double) occupiedRoomNights / roomNights)
+                .nights(nights)
+                .build();
+    }
+
+    private void validateCalendarRange(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new BusinessException("End date must be after start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_CALENDAR_DAYS) {
+            throw new BusinessException("Date range cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
     }
 
     @Transactional
@@ -192,6 +283,7 @@ public class RoomService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room", "id", id));
         room.setStatus(status);
         Room updatedRoom = roomRepository.save(room);
+        searchCache.hotelChanged(updatedRoom.getHotel().getId());
         log.info("Room status updated successfully");
         return convertToDto(updatedRoom);
     }
@@ -205,7 +297,7 @@ public class RoomService {
                 ));
     }
 
-    private RoomDto convertToDto(Room room) {
+    RoomDto convertToDto(Room room) {
         return RoomDto.builder()
                 .id(room.getId())
                 .hotelId(room.getHotel().getId())
@@ -0,0 +1,66 @@
+package com.sasps.hotelbooking.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style IDs: 41 bits of milliseconds since {@link #EPOCH}, a 10-bit node id and a 12-bit
+ * per-millisecond sequence, rendered as 13 Crockford base32 characters so that IDs sort by time.
+ * IDs are unique across instances as long as every instance runs with its own node id.
+ * <p>
+ * The only shared state is one {@link AtomicLong} advanced by compare-and-set. When the sequence
+ * of a millisecond is exhausted, or the clock steps backwards, generation carries on in the
+ * following millisecond instead of blocking.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long tick = lastTick.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+        long millis = tick >>> SEQUENCE_BITS;
+        long sequence = tick & SEQUENCE_MASK;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        long remaining = id;
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (remaining & 31)];
+            remaining >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -6,7 +6,6 @@ import com.sasps.hotelbooking.dto.RegisterRequest;
 import com.sasps.hotelbooking.model.User;
 import com.sasps.hotelbooking.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +14,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -44,7 +44,7 @@ public class UserService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .phoneNumber(request.getPhoneNumber() != null && !request.getPhoneNumber().trim().isEmpty() 
@@ -68,19 +68,31 @@ public class UserService {
     }
     
     public AuthResponse login(LoginRequest request) {
+        loginThrottle.checkAllowed(request.getEmail());
+
         // Find user by email
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
         
         // Check password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        boolean authenticated = user != null
+                ? passwordHasher.matches(request.getPassword(), user.getPassword())
+                : passwordHasher.matchesNone(request.getPassword());
+        if (!authenticated) {
+            loginThrottle.recordFailure(request.getEmail());
             throw new RuntimeException("Invalid email or password");
         }
+        loginThrottle.recordSuccess(request.getEmail());
         
         // Check if user is enabled
         if (!user.getEnabled()) {
             throw new RuntimeException("User account is disabled");
         }
+
+        // Re-hash with the current bcrypt strength while the plain password is at hand
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.getPassword()));
+            user = userRepository.save(user);
+        }
         
         return AuthResponse.builder()
                 .id(user.getId())
@@ -0,0 +1,3 @@
+CREATE INDEX idx_hotels_active_id ON hotels(active, id);
+CREATE INDEX idx_rooms_status_id ON rooms(status, id);
+CREATE INDEX idx_rooms_type_id ON rooms(room_type, id);
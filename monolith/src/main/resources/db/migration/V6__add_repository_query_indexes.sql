@@ -0,0 +1,22 @@
+-- Indexes backing the BookingRepository, RoomRepository, HotelRepository and PaymentRepository
+-- queries; query-plans/ checks every repository query against them on a seeded database.
+
+-- Bookings of a user (newest first) and of a room (by check-in date)
+CREATE INDEX idx_bookings_user_created_at ON bookings(user_id, created_at);
+CREATE INDEX idx_bookings_room_check_in ON bookings(room_id, check_in_date);
+
+-- Upcoming bookings and today's check-ins
+CREATE INDEX idx_bookings_upcoming_check_in ON bookings(check_in_date)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+-- Active stays: today's check-outs, active intervals and the availability subqueries
+CREATE INDEX idx_bookings_active_check_out ON bookings(check_out_date, check_in_date) INCLUDE (room_id)
+    WHERE status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN');
+
+CREATE INDEX idx_payments_booking_id ON payments(booking_id);
+
+CREATE INDEX idx_rooms_hotel_status ON rooms(hotel_id, status);
+
+CREATE INDEX idx_hotels_name ON hotels(name);
+CREATE INDEX idx_hotels_city ON hotels(city);
+CREATE INDEX idx_hotels_country ON hotels(country);
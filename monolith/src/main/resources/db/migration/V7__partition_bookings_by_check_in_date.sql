@@ -0,0 +1,164 @@
+-- bookings becomes a range-partitioned table on check_in_date, one partition per calendar month
+-- (bookings_pYYYY_MM) plus bookings_default for stays beyond the last partition. The repository
+-- queries bound check_in_date, so the planner only visits the months that can hold matching stays.
+-- BookingPartitionMaintenance creates future months and archives old ones with the functions below.
+
+-- A foreign key to a partitioned table must include the partition key; payments keep booking_id only.
+ALTER TABLE payments DROP CONSTRAINT fk_payment_booking;
+
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER SEQUENCE bookings_id_seq OWNED BY NONE;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL DEFAULT nextval('bookings_id_seq'),
+    user_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    number_of_guests INTEGER NOT NULL,
+    total_price DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    special_requests VARCHAR(1000),
+    confirmation_number VARCHAR(50),
+    payment_status VARCHAR(20) DEFAULT 'PENDING',
+    payment_method VARCHAR(50),
+    paid_amount DECIMAL(10, 2),
+    cancelled_at TIMESTAMP,
+    cancellation_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    -- Booking.MAX_NIGHTS; the overlap queries rely on it to bound check_in_date from below
+    CONSTRAINT chk_bookings_stay_length
+        CHECK (check_out_date > check_in_date AND check_out_date <= check_in_date + 30)
+) PARTITION BY RANGE (check_in_date);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- Creates the partition for the month containing the given day, moving any of its stays out of
+-- bookings_default first. Returns false when the partition already exists.
+CREATE FUNCTION create_bookings_partition(day DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    first_day DATE := date_trunc('month', day)::date;
+    next_first_day DATE := (date_trunc('month', day) + INTERVAL '1 month')::date;
+    partition_table TEXT := 'bookings_p' || to_char(day, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    IF to_regclass(partition_table) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_table);
+    EXECUTE format('WITH moved AS (DELETE FROM bookings_default WHERE check_in_date >= %L AND check_in_date < %L '
+                   'RETURNING *) INSERT INTO %I SELECT * FROM moved', first_day, next_first_day, partition_table);
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_table, first_day, next_first_day);
+    RETURN true;
+END;
+$$;
+
+CREATE SCHEMA booking_archive;
+
+-- Detaches every monthly partition that ended on or before the given day and holds only
+-- CHECKED_OUT, CANCELLED or NO_SHOW stays, and moves it, together with the payments of its
+-- bookings, into the booking_archive schema. Partitions still holding other stays are reported
+-- with their count and left in place.
+CREATE FUNCTION archive_bookings_partitions(ended_by DATE)
+RETURNS TABLE (partition_name TEXT, archived BOOLEAN, open_bookings BIGINT)
+LANGUAGE plpgsql AS $$
+DECLARE
+    candidate TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    FOR candidate IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 11), 'YYYY_MM') + INTERVAL '1 month' <= ended_by
+        ORDER BY c.relname
+    LOOP
+        partition_name := candidate;
+        EXECUTE format('SELECT count(*) FROM %I WHERE status NOT IN (''CHECKED_OUT'', ''CANCELLED'', ''NO_SHOW'')',
+                       candidate) INTO open_bookings;
+        archived := open_bookings = 0;
+        IF archived THEN
+            EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', candidate);
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT IF EXISTS fk_booking_user, '
+                           'DROP CONSTRAINT IF EXISTS fk_booking_room', candidate);
+            EXECUTE format('CREATE TABLE booking_archive.%I (LIKE payments)', 'payments' || substr(candidate, 9));
+            EXECUTE format('WITH moved AS (DELETE FROM payments p USING %I b WHERE p.booking_id = b.id '
+                           'RETURNING p.*) INSERT INTO booking_archive.%I SELECT * FROM moved',
+                           candidate, 'payments' || substr(candidate, 9));
+            EXECUTE format('ALTER TABLE %I SET SCHEMA booking_archive', candidate);
+        END IF;
+        RETURN NEXT;
+    END LOOP;
+END;
+$$;
+
+-- One partition per month from the oldest stay to a year ahead
+SELECT create_bookings_partition(month::date)
+FROM generate_series(
+        date_trunc('month', LEAST((SELECT min(check_in_date) FROM bookings_unpartitioned), CURRENT_DATE)),
+        date_trunc('month', CURRENT_DATE + INTERVAL '12 months'),
+        INTERVAL '1 month') AS month;
+
+INSERT INTO bookings (id, user_id, room_id, check_in_date, check_out_date, number_of_guests, total_price,
+                      status, special_requests, confirmation_number, payment_status, payment_method,
+                      paid_amount, cancelled_at, cancellation_reason, created_at, updated_at)
+SELECT id, user_id, room_id, check_in_date, check_out_date, number_of_guests, total_price,
+       status, special_requests, confirmation_number, payment_status, payment_method,
+       paid_amount, cancelled_at, cancellation_reason, created_at, updated_at
+FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+
+-- Unique constraints must include the partition key. Ids come from bookings_id_seq and
+-- confirmation numbers from IdGenerator, so both stay unique without a global index.
+ALTER TABLE bookings ADD CONSTRAINT bookings_pkey PRIMARY KEY (id, check_in_date);
+CREATE INDEX idx_bookings_confirmation_number ON bookings(confirmation_number);
+
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_user FOREIGN KEY (user_id) REFERENCES users(id);
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_room FOREIGN KEY (room_id) REFERENCES rooms(id);
+
+-- Same indexes as V6, now one per partition
+CREATE INDEX idx_bookings_user_created_at ON bookings(user_id, created_at);
+CREATE INDEX idx_bookings_room_check_in ON bookings(room_id, check_in_date);
+CREATE INDEX idx_bookings_upcoming_check_in ON bookings(check_in_date)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX idx_bookings_active_check_out ON bookings(check_out_date, check_in_date) INCLUDE (room_id)
+    WHERE status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN');
+
+-- Exclusion constraints cannot span partitions, and a stay near the end of a month can overlap one
+-- in the next. This trigger replaces excl_bookings_room_dates and raises the same SQLSTATE (23P01).
+CREATE FUNCTION check_bookings_room_overlap() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.status NOT IN ('PENDING', 'CONFIRMED', 'CHECKED_IN') THEN
+        RETURN NEW;
+    END IF;
+    -- Held until commit, so two transactions cannot both pass the check for the same room
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_room'), hashtext(NEW.room_id::text));
+    IF EXISTS (
+        SELECT 1 FROM bookings b
+        WHERE b.room_id = NEW.room_id
+          AND b.id <> NEW.id
+          AND b.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+          AND b.check_in_date > NEW.check_in_date - 30
+          AND b.check_in_date < NEW.check_out_date
+          AND b.check_out_date > NEW.check_in_date
+    ) THEN
+        RAISE EXCEPTION 'room % is already booked between % and %',
+                NEW.room_id, NEW.check_in_date, NEW.check_out_date
+            USING ERRCODE = 'exclusion_violation', CONSTRAINT = 'excl_bookings_room_dates', TABLE = 'bookings';
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_bookings_room_overlap
+    BEFORE INSERT OR UPDATE OF room_id, check_in_date, check_out_date, status ON bookings
+    FOR EACH ROW EXECUTE FUNCTION check_bookings_room_overlap();
@@ -0,0 +1,87 @@
+-- One row per room and night held by a booking: every night of a PENDING, CONFIRMED or CHECKED_IN
+-- stay, and the nights a CHECKED_OUT stay actually used. BookingService writes it in the same
+-- transaction as the booking, so availability, room calendars and occupancy are index lookups,
+-- and the primary key rejects a second booking of the same room and night (SQLSTATE 23505).
+CREATE TABLE room_nights (
+    room_id BIGINT NOT NULL,
+    night DATE NOT NULL,
+    booking_id BIGINT NOT NULL,
+    CONSTRAINT room_nights_pkey PRIMARY KEY (room_id, night),
+    CONSTRAINT fk_room_night_room FOREIGN KEY (room_id) REFERENCES rooms(id)
+);
+
+-- Availability searches over all rooms, and releasing a booking's nights
+CREATE INDEX idx_room_nights_night ON room_nights(night, room_id);
+CREATE INDEX idx_room_nights_booking ON room_nights(booking_id);
+
+-- Rebuilds room_nights from bookings and returns the rows added and removed. Run it with
+-- SELECT * FROM backfill_room_nights() after loading bookings outside the application.
+-- A checked-out stay holds its nights up to the day it was checked out (updated_at).
+CREATE FUNCTION backfill_room_nights() RETURNS TABLE (added BIGINT, removed BIGINT)
+LANGUAGE plpgsql AS $$
+BEGIN
+    -- Readers carry on; BookingService writes wait until the rebuild commits
+    LOCK TABLE room_nights IN EXCLUSIVE MODE;
+
+    CREATE TEMP TABLE held_room_nights ON COMMIT DROP AS
+    SELECT b.room_id, b.check_in_date + i AS night, b.id AS booking_id
+    FROM bookings b
+    CROSS JOIN LATERAL generate_series(0, CASE
+            WHEN b.status = 'CHECKED_OUT'
+                THEN LEAST(b.check_out_date, COALESCE(b.updated_at::date, b.check_out_date))
+            ELSE b.check_out_date END - b.check_in_date - 1) AS i
+    WHERE b.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT');
+
+    DELETE FROM room_nights n
+    WHERE NOT EXISTS (
+        SELECT 1 FROM held_room_nights h
+        WHERE h.room_id = n.room_id AND h.night = n.night AND h.booking_id = n.booking_id);
+    GET DIAGNOSTICS removed = ROW_COUNT;
+
+    INSERT INTO room_nights (room_id, night, booking_id)
+    SELECT room_id, night, booking_id FROM held_room_nights
+    ON CONFLICT (room_id, night) DO NOTHING;
+    GET DIAGNOSTICS added = ROW_COUNT;
+
+    RETURN NEXT;
+END;
+$$;
+
+SELECT * FROM backfill_room_nights();
+
+-- Archived bookings also give up their nights, so occupancy covers the same months as bookings
+CREATE OR REPLACE FUNCTION archive_bookings_partitions(ended_by DATE)
+RETURNS TABLE (partition_name TEXT, archived BOOLEAN, open_bookings BIGINT)
+LANGUAGE plpgsql AS $$
+DECLARE
+    candidate TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    FOR candidate IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 11), 'YYYY_MM') + INTERVAL '1 month' <= ended_by
+        ORDER BY c.relname
+    LOOP
+        partition_name := candidate;
+        EXECUTE format('SELECT count(*) FROM %I WHERE status NOT IN (''CHECKED_OUT'', ''CANCELLED'', ''NO_SHOW'')',
+                       candidate) INTO open_bookings;
+        archived := open_bookings = 0;
+        IF archived THEN
+            EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', candidate);
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT IF EXISTS fk_booking_user, '
+                           'DROP CONSTRAINT IF EXISTS fk_booking_room', candidate);
+            EXECUTE format('DELETE FROM room_nights n USING %I b WHERE n.booking_id = b.id', candidate);
+            EXECUTE format('CREATE TABLE booking_archive.%I (LIKE payments)', 'payments' || substr(candidate, 9));
+            EXECUTE format('WITH moved AS (DELETE FROM payments p USING %I b WHERE p.booking_id = b.id '
+                           'RETURNING p.*) INSERT INTO booking_archive.%I SELECT * FROM moved',
+                           candidate, 'payments' || substr(candidate, 9));
+            EXECUTE format('ALTER TABLE %I SET SCHEMA booking_archive', candidate);
+        END IF;
+        RETURN NEXT;
+    END LOOP;
+END;
+$$;
@@ -0,0 +1 @@
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS excl_bookings_room_dates;
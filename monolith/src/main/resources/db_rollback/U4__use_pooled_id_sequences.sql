@@ -0,0 +1,2 @@
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 1;
+ALTER SEQUENCE payments_id_seq INCREMENT BY 1;
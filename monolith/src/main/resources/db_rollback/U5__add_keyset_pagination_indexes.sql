@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS idx_hotels_active_id;
+DROP INDEX IF EXISTS idx_rooms_status_id;
+DROP INDEX IF EXISTS idx_rooms_type_id;
@@ -0,0 +1,9 @@
+DROP INDEX IF EXISTS idx_bookings_user_created_at;
+DROP INDEX IF EXISTS idx_bookings_room_check_in;
+DROP INDEX IF EXISTS idx_bookings_upcoming_check_in;
+DROP INDEX IF EXISTS idx_bookings_active_check_out;
+DROP INDEX IF EXISTS idx_payments_booking_id;
+DROP INDEX IF EXISTS idx_rooms_hotel_status;
+DROP INDEX IF EXISTS idx_hotels_name;
+DROP INDEX IF EXISTS idx_hotels_city;
+DROP INDEX IF EXISTS idx_hotels_country;
@@ -0,0 +1,38 @@
+DROP TABLE IF EXISTS room_nights;
+DROP FUNCTION IF EXISTS backfill_room_nights();
+
+-- The V7 version, without the room_nights cleanup
+CREATE OR REPLACE FUNCTION archive_bookings_partitions(ended_by DATE)
+RETURNS TABLE (partition_name TEXT, archived BOOLEAN, open_bookings BIGINT)
+LANGUAGE plpgsql AS $$
+DECLARE
+    candidate TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    FOR candidate IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 11), 'YYYY_MM') + INTERVAL '1 month' <= ended_by
+        ORDER BY c.relname
+    LOOP
+        partition_name := candidate;
+        EXECUTE format('SELECT count(*) FROM %I WHERE status NOT IN (''CHECKED_OUT'', ''CANCELLED'', ''NO_SHOW'')',
+                       candidate) INTO open_bookings;
+        archived := open_bookings = 0;
+        IF archived THEN
+            EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', candidate);
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT IF EXISTS fk_booking_user, '
+                           'DROP CONSTRAINT IF EXISTS fk_booking_room', candidate);
+            EXECUTE format('CREATE TABLE booking_archive.%I (LIKE payments)', 'payments' || substr(candidate, 9));
+            EXECUTE format('WITH moved AS (DELETE FROM payments p USING %I b WHERE p.booking_id = b.id '
+                           'RETURNING p.*) INSERT INTO booking_archive.%I SELECT * FROM moved',
+                           candidate, 'payments' || substr(candidate, 9));
+            EXECUTE format('ALTER TABLE %I SET SCHEMA booking_archive', candidate);
+        END IF;
+        RETURN NEXT;
+    END LOOP;
+END;
+$$;
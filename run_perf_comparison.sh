@@ -3,10 +3,17 @@
 set -e
 
 SCENARIO="${1:-load}"
+# Thread modes to compare: "platform" (Tomcat worker pool) and/or "virtual" (spring.threads.virtual.enabled)
+THREAD_MODES="${THREAD_MODES:-platform virtual}"
+# Optional synthetic data set loaded before each run (see data-generator/), e.g. DATASET_BOOKINGS=2000000
+DATASET_BOOKINGS="${DATASET_BOOKINGS:-}"
+DATASET_SEED="${DATASET_SEED:-42}"
+K6_TREND_STATS="avg,min,med,max,p(90),p(95),p(99)"
 REPO_ROOT="$(cd "$(dirname "$0")" && pwd)"
 RUN_DIR="${REPO_ROOT}/artifacts/perf/$(date +%Y%m%d_%H%M%S)"
 MONOLITH_DIR="${REPO_ROOT}/monolith"
 MICROSERVICES_DIR="${REPO_ROOT}/microservices"
+DATA_GENERATOR_JAR="${REPO_ROOT}/data-generator/target/data-generator.jar"
 
 # Colors for output
 RED='\033[0;31m'
@@ -16,9 +23,13 @@ NC='\033[0m' # No Color
 
 # Create output directory
 mkdir -p "$RUN_DIR"
+COMPARISON_ROWS="${RUN_DIR}/comparison_rows.md"
+: > "$COMPARISON_ROWS"
 
 echo -e "${GREEN}=== Performance Comparison: Monolith vs Microservices ===${NC}"
 echo "Scenario: $SCENARIO"
+echo "Thread modes: $THREAD_MODES"
+echo "Data set: ${DATASET_BOOKINGS:-sample data only}"
 echo "Output directory: $RUN_DIR"
 echo ""
 
@@ -27,7 +38,7 @@ wait_for_service() {
     local url=$1
     local max_attempts=30
     local attempt=0
-    
+
     while [ $attempt -lt $max_attempts ]; do
         if curl -sf "$url" > /dev/null 2>&1; then
             echo -e "${GREEN}✓ Service responding: $url${NC}"
@@ -37,30 +48,49 @@ wait_for_service() {
         echo "Waiting for service: $url (attempt $attempt/$max_attempts)"
         sleep 2
     done
-    
+
     echo -e "${RED}✗ Service failed to respond: $url${NC}"
     return 1
 }
 
+# Helper function to load the synthetic data set into the stack's database
+load_dataset() {
+    local run_dir=$1
+
+    if [ ! -f "$DATA_GENERATOR_JAR" ]; then
+        mvn -q -f "${REPO_ROOT}/data-generator/pom.xml" package
+    fi
+
+    echo "Loading synthetic data set ($DATASET_BOOKINGS bookings, seed $DATASET_SEED)..."
+    java -jar "$DATA_GENERATOR_JAR" --bookings="$DATASET_BOOKINGS" --seed="$DATASET_SEED" \
+        2>&1 | tee "$run_dir/dataset.txt"
+    if [ "${PIPESTATUS[0]}" -ne 0 ]; then
+        echo -e "${RED}✗ Loading the data set failed${NC}"
+        exit 1
+    fi
+}
+
 # Helper function to extract k6 metrics from JSON summary
 extract_k6_metrics() {
     local json_file=$1
     local output_file=$2
-    
+
     if [ ! -f "$json_file" ]; then
         echo "K6 summary not found: $json_file"
         return 1
     fi
-    
+
     cat > "$output_file" << 'EOF'
 K6 Test Metrics:
 EOF
-    
+
     # Check if jq is available, otherwise use basic parsing
     if command -v jq &> /dev/null; then
         {
             echo "  Overall:"
+            echo "    Throughput (req/s): $(jq '.metrics.http_reqs.rate' "$json_file")"
             echo "    p95 latency (ms): $(jq '.metrics.http_req_duration["p(95)"]' "$json_file")"
+            echo "    p99 latency (ms): $(jq '.metrics.http_req_duration["p(99)"]' "$json_file")"
             echo "    max latency (ms): $(jq '.metrics.http_req_duration.max' "$json_file")"
             echo "    Total requests: $(jq '.metrics.http_reqs.count' "$json_file")"
             echo "    Check success rate: $(jq '(.metrics.checks.value * 100) | round / 100 | tostring + "%"' "$json_file")"
@@ -71,88 +101,153 @@ EOF
     fi
 }
 
+# Helper function to append one row to the thread-mode comparison table
+append_comparison_row() {
+    local stack=$1
+    local mode=$2
+    local json_file=$3
+
+    if [ -f "$json_file" ] && command -v jq &> /dev/null; then
+        local throughput p95 p99
+        throughput=$(jq '.metrics.http_reqs.rate * 100 | round / 100' "$json_file")
+        p95=$(jq '.metrics.http_req_duration["p(95)"] * 100 | round / 100' "$json_file")
+        p99=$(jq '.metrics.http_req_duration["p(99)"] * 100 | round / 100' "$json_file")
+        echo "| $stack | $mode | $throughput | $p95 | $p99 |" >> "$COMPARISON_ROWS"
+    else
+        echo "| $stack | $mode | n/a | n/a | n/a |" >> "$COMPARISON_ROWS"
+    fi
+}
+
+# Maps a thread mode to the value of SPRING_THREADS_VIRTUAL_ENABLED used by the compose files
+virtual_threads_flag() {
+    if [ "$1" = "virtual" ]; then
+        echo "true"
+    else
+        echo "false"
+    fi
+}
+
 # ============================================================================
 # MONOLITH
 # ============================================================================
 
-echo -e "${YELLOW}--- MONOLITH ---${NC}"
-MONOLITH_RUN_DIR="${RUN_DIR}/monolith"
-mkdir -p "$MONOLITH_RUN_DIR"
+run_monolith() {
+    local mode=$1
+    local run_dir="${RUN_DIR}/monolith/${mode}"
+    local k6_summary="${run_dir}/k6_summary.json"
 
-cd "$MONOLITH_DIR"
+    echo -e "${YELLOW}--- MONOLITH (${mode} threads) ---${NC}"
+    mkdir -p "$run_dir"
+    export VIRTUAL_THREADS="$(virtual_threads_flag "$mode")"
 
-echo "Stopping existing containers..."
-docker compose down --remove-orphans 2>/dev/null || true
+    cd "$MONOLITH_DIR"
 
-echo "Removing old volumes..."
-docker volume rm sasps-monolith_postgres_data 2>/dev/null || true
+    echo "Stopping existing containers..."
+    docker compose down --remove-orphans 2>/dev/null || true
 
-echo "Starting monolith stack..."
-docker compose up -d --build
+    echo "Removing old volumes..."
+    docker volume rm sasps-monolith_postgres_data 2>/dev/null || true
 
-echo "Waiting for services to be ready..."
-wait_for_service "http://localhost:8080/actuator/health"
+    echo "Starting monolith stack..."
+    docker compose up -d --build
 
-echo "Running k6 $SCENARIO scenario..."
-K6_SUMMARY_MONOLITH="${MONOLITH_RUN_DIR}/k6_summary.json"
-k6 run --env BASE_URL=http://localhost:8080/api --env SCENARIO="$SCENARIO" \
-    --summary-export="$K6_SUMMARY_MONOLITH" \
-    ./load_test_k6.js 2>&1 | tee "$MONOLITH_RUN_DIR/k6_stdout.txt"
+    echo "Waiting for services to be ready..."
+    wait_for_service "http://localhost:8080/actuator/health"
+
+    # Restart after loading so caches and the availability index start from the loaded data
+    if [ -n "$DATASET_BOOKINGS" ]; then
+        load_dataset "$run_dir"
+        docker compose restart app
+        wait_for_service "http://localhost:8080/actuator/health"
+    fi
 
-echo "Capturing service status..."
-docker compose ps > "$MONOLITH_RUN_DIR/compose_ps.txt"
+    echo "Running k6 $SCENARIO scenario..."
+    k6 run --env BASE_URL=http://localhost:8080/api --env SCENARIO="$SCENARIO" \
+        --summary-trend-stats="$K6_TREND_STATS" \
+        --summary-export="$k6_summary" \
+        ./load_test_k6.js 2>&1 | tee "$run_dir/k6_stdout.txt"
 
-echo "Extracting k6 metrics..."
-extract_k6_metrics "$K6_SUMMARY_MONOLITH" "$MONOLITH_RUN_DIR/k6_metrics.txt"
+    echo "Capturing service status..."
+    docker compose ps > "$run_dir/compose_ps.txt"
 
-echo "Stopping monolith stack..."
-docker compose down --remove-orphans
+    echo "Extracting k6 metrics..."
+    extract_k6_metrics "$k6_summary" "$run_dir/k6_metrics.txt"
+    append_comparison_row "Monolith" "$mode" "$k6_summary"
 
-# Short pause to ensure cleanup
-sleep 5
+    echo "Stopping monolith stack..."
+    docker compose down --remove-orphans
+
+    # Short pause to ensure cleanup
+    sleep 5
+}
 
 # ============================================================================
 # MICROSERVICES
 # ============================================================================
 
-echo ""
-echo -e "${YELLOW}--- MICROSERVICES ---${NC}"
-MICROSERVICES_RUN_DIR="${RUN_DIR}/microservices"
-mkdir -p "$MICROSERVICES_RUN_DIR"
+run_microservices() {
+    local mode=$1
+    local run_dir="${RUN_DIR}/microservices/${mode}"
+    local k6_summary="${run_dir}/k6_summary.json"
+
+    echo ""
+    echo -e "${YELLOW}--- MICROSERVICES (${mode} threads) ---${NC}"
+    mkdir -p "$run_dir"
+    export VIRTUAL_THREADS="$(virtual_threads_flag "$mode")"
+
+    cd "$MICROSERVICES_DIR"
 
-cd "$MICROSERVICES_DIR"
+    echo "Stopping existing containers..."
+    docker compose -f docker-compose-perf.yml down --remove-orphans 2>/dev/null || true
 
-echo "Stopping existing containers..."
-docker compose -f docker-compose-perf.yml down --remove-orphans 2>/dev/null || true
+    echo "Removing old volumes..."
+    docker volume rm sasps-microservices_db-cluster-data 2>/dev/null || true
 
-echo "Removing old volumes..."
-docker volume rm sasps-microservices_db-cluster-data 2>/dev/null || true
+    echo "Starting microservices stack (perf variant, no auth-service)..."
+    docker compose -f docker-compose-perf.yml up -d --build
 
-echo "Starting microservices stack (perf variant, no auth-service)..."
-docker compose -f docker-compose-perf.yml up -d --build
+    echo "Waiting for services to be ready..."
+    wait_for_service "http://localhost:8081/actuator/health" || true
+    wait_for_service "http://localhost:8082/actuator/health" || true
+    wait_for_service "http://localhost:8083/actuator/health" || true
+    wait_for_service "http://localhost:8084/actuator/health" || true
 
-echo "Waiting for services to be ready..."
-wait_for_service "http://localhost:8081/actuator/health" || true
-wait_for_service "http://localhost:8082/actuator/health" || true
-wait_for_service "http://localhost:8083/actuator/health" || true
-wait_for_service "http://localhost:8084/actuator/health" || true
+    if [ -n "$DATASET_BOOKINGS" ]; then
+        load_dataset "$run_dir"
+        docker compose -f docker-compose-perf.yml restart room-service booking-service payment-service user-service
+        wait_for_service "http://localhost:8082/actuator/health" || true
+        wait_for_service "http://localhost:8083/actuator/health" || true
+    fi
+
+    echo "Running k6 $SCENARIO scenario..."
+    k6 run --env SCENARIO="$SCENARIO" \
+        --env ROOM_BASE=http://localhost:8082/api \
+        --env BOOKING_BASE=http://localhost:8083/api \
+        --summary-trend-stats="$K6_TREND_STATS" \
+        --summary-export="$k6_summary" \
+        ./load_test_k6.js 2>&1 | tee "$run_dir/k6_stdout.txt"
+
+    echo "Capturing service status..."
+    docker compose -f docker-compose-perf.yml ps > "$run_dir/compose_ps.txt"
 
-echo "Running k6 $SCENARIO scenario..."
-K6_SUMMARY_MICROSERVICES="${MICROSERVICES_RUN_DIR}/k6_summary.json"
-k6 run --env SCENARIO="$SCENARIO" \
-    --env ROOM_BASE=http://localhost:8082/api \
-    --env BOOKING_BASE=http://localhost:8083/api \
-    --summary-export="$K6_SUMMARY_MICROSERVICES" \
-    ./load_test_k6.js 2>&1 | tee "$MICROSERVICES_RUN_DIR/k6_stdout.txt"
+    echo "Extracting k6 metrics..."
+    extract_k6_metrics "$k6_summary" "$run_dir/k6_metrics.txt"
+    append_comparison_row "Microservices" "$mode" "$k6_summary"
 
-echo "Capturing service status..."
-docker compose -f docker-compose-perf.yml ps > "$MICROSERVICES_RUN_DIR/compose_ps.txt"
+    echo "Stopping microservices stack..."
+    docker compose -f docker-compose-perf.yml down --remove-orphans
+
+    # Short pause to ensure cleanup
+    sleep 5
+}
 
-echo "Extracting k6 metrics..."
-extract_k6_metrics "$K6_SUMMARY_MICROSERVICES" "$MICROSERVICES_RUN_DIR/k6_metrics.txt"
+for MODE in $THREAD_MODES; do
+    run_monolith "$MODE"
+done
 
-echo "Stopping microservices stack..."
-docker compose -f docker-compose-perf.yml down --remove-orphans
+for MODE in $THREAD_MODES; do
+    run_microservices "$MODE"
+done
 
 # ============================================================================
 # GENERATE COMPARISON SUMMARY
@@ -168,34 +263,40 @@ cat > "$SUMMARY_FILE" << EOF
 
 **Test Date:** $(date)
 **Scenario:** $SCENARIO
+**Thread modes:** $THREAD_MODES
+**Data set:** ${DATASET_BOOKINGS:-sample data only}
 
-## Results
-
-### Monolith
+## Throughput and Tail Latency by Thread Mode
 
+| Stack | Threads | Throughput (req/s) | p95 (ms) | p99 (ms) |
+|-------|---------|--------------------|----------|----------|
 EOF
 
-if [ -f "$MONOLITH_RUN_DIR/k6_metrics.txt" ]; then
-    cat "$MONOLITH_RUN_DIR/k6_metrics.txt" >> "$SUMMARY_FILE"
-else
-    echo "  (k6 metrics not available)" >> "$SUMMARY_FILE"
-fi
+cat "$COMPARISON_ROWS" >> "$SUMMARY_FILE"
 
 cat >> "$SUMMARY_FILE" << EOF
 
-### Microservices
-
+## Results
 EOF
 
-if [ -f "$MICROSERVICES_RUN_DIR/k6_metrics.txt" ]; then
-    cat "$MICROSERVICES_RUN_DIR/k6_metrics.txt" >> "$SUMMARY_FILE"
-else
-    echo "  (k6 metrics not available)" >> "$SUMMARY_FILE"
-fi
-
-cat >> "$SUMMARY_FILE" << EOF
+for STACK in Monolith Microservices; do
+    STACK_DIR="$(echo "$STACK" | tr '[:upper:]' '[:lower:]')"
+    for MODE in $THREAD_MODES; do
+        {
+            echo ""
+            echo "### $STACK ($MODE threads)"
+            echo ""
+        } >> "$SUMMARY_FILE"
+
+        if [ -f "${RUN_DIR}/${STACK_DIR}/${MODE}/k6_metrics.txt" ]; then
+            cat "${RUN_DIR}/${STACK_DIR}/${MODE}/k6_metrics.txt" >> "$SUMMARY_FILE"
+        else
+            echo "  (k6 metrics not available)" >> "$SUMMARY_FILE"
+        fi
+    done
+done
 
-EOF
+echo "" >> "$SUMMARY_FILE"
 
 echo -e "${GREEN}✓ Summary written to: $SUMMARY_FILE${NC}"
 